@@ -1,15 +1,34 @@
 package com.Springboot_Project_Backend.springboot_project_backend.config;
 
+import com.Springboot_Project_Backend.springboot_project_backend.util.BCryptCostCalibrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+
+    // Never calibrate below the encoder's old default, so existing hashes are not weakened
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 14;
+
+    // A strength of 0 picks the highest cost that hashes within target-hash-ms on this machine. Stored hashes
+    // of a lower cost are upgraded on the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:0}") int strength,
+                                           @Value("${security.password.target-hash-ms:250}") long targetHashMs) {
+        if (strength <= 0) {
+            strength = BCryptCostCalibrator.calibrate(targetHashMs, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+            logger.info("Calibrated BCrypt strength {} for a {} ms target", strength, targetHashMs);
+        }
+        return new BCryptPasswordEncoder(strength);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class CacheConfig {
+
+    // Ehcache through the JCache API; the caches and their sizes and expiry are declared in ehcache.xml.
+    // Each application context gets its own manager so two contexts in one JVM never share entries.
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager(@Value("${app.cache.config:classpath:ehcache.xml}") Resource config) throws IOException {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName());
+        XmlConfiguration configuration = new XmlConfiguration(config.getURL(), getClass().getClassLoader());
+        return provider.getCacheManager(URI.create("urn:banking-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    // Hibernate's second-level cache regions live in the same manager rather than one Hibernate would open itself
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager jcacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+    }
+}
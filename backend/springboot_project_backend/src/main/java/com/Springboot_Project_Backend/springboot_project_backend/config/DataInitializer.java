@@ -8,6 +8,9 @@ import com.Springboot_Project_Backend.springboot_project_backend.repository.Acco
 import com.Springboot_Project_Backend.springboot_project_backend.repository.AdminRepository;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.service.NumberAllocator;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionDailyCounter;
+import com.Springboot_Project_Backend.springboot_project_backend.util.TransactionIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +43,15 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Autowired
+    private NumberAllocator numberAllocator;
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
     private final Random random = new Random();
 
     @Override
@@ -118,14 +130,14 @@ public class DataInitializer implements CommandLineRunner {
         // Create test accounts
         Account savingsAccount = new Account();
         savingsAccount.setUser(user);
-        savingsAccount.setAccountNumber(generateAccountNumber());
+        savingsAccount.setAccountNumber(numberAllocator.nextAccountNumber());
         savingsAccount.setAccountType(Account.AccountType.SAVINGS);
         savingsAccount.setBalance(new BigDecimal("5000.00"));
         savingsAccount.setStatus(Account.AccountStatus.ACTIVE);
 
         Account checkingAccount = new Account();
         checkingAccount.setUser(user);
-        checkingAccount.setAccountNumber(generateAccountNumber());
+        checkingAccount.setAccountNumber(numberAllocator.nextAccountNumber());
         checkingAccount.setAccountType(Account.AccountType.CURRENT);
         checkingAccount.setBalance(new BigDecimal("2500.00"));
         checkingAccount.setStatus(Account.AccountStatus.ACTIVE);
@@ -152,7 +164,7 @@ public class DataInitializer implements CommandLineRunner {
     private void createSampleTransaction(Account account, Transaction.TransactionType type,
                                          BigDecimal amount, String description) {
         Transaction transaction = new Transaction();
-        transaction.setTransactionId(generateTransactionId());
+        transaction.setTransactionId(transactionIdGenerator.nextId());
         transaction.setAccount(account);
         transaction.setType(type);
         transaction.setAmount(amount); // keep amounts positive
@@ -170,14 +182,7 @@ public class DataInitializer implements CommandLineRunner {
         accountRepository.save(account);
 
         transactionRepository.save(transaction);
-    }
-
-    private String generateTransactionId() {
-        return "TXN" + String.format("%010d", random.nextInt(1000000000));
-    }
-
-    private String generateAccountNumber() {
-        return "ACC" + String.format("%010d", random.nextInt(1000000000));
+        transactionDailyCounter.recorded(transaction);
     }
 
     private void createDefaultAdmin() {
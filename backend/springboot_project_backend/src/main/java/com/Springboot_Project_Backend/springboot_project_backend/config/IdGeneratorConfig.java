@@ -0,0 +1,34 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import com.Springboot_Project_Backend.springboot_project_backend.util.SnowflakeIdGenerator;
+import com.Springboot_Project_Backend.springboot_project_backend.util.TransactionIdGenerator;
+import com.Springboot_Project_Backend.springboot_project_backend.util.TransactionIds;
+import com.Springboot_Project_Backend.springboot_project_backend.util.UuidIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    // Each instance writing to the same database needs its own node id
+    @Bean
+    public TransactionIdGenerator transactionIdGenerator(@Value("${transactions.id.generator:snowflake}") String type,
+                                                         @Value("${transactions.id.node-id:0}") long nodeId) {
+        TransactionIdGenerator generator;
+        if ("uuid".equalsIgnoreCase(type)) {
+            generator = new UuidIdGenerator();
+        } else if ("snowflake".equalsIgnoreCase(type)) {
+            generator = new SnowflakeIdGenerator(nodeId);
+        } else {
+            throw new IllegalArgumentException("Unknown transactions.id.generator: " + type);
+        }
+        TransactionIds.setGenerator(generator);
+        logger.info("Transaction ids generated by {} (node id {})", type, nodeId);
+        return generator;
+    }
+}
@@ -0,0 +1,58 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Databases created while the entities used IDENTITY ids have rows but no id_generators entries, and the
+// pooled generators would start again from 1. Before anything is inserted, each generator is moved past
+// the largest existing id (plus one allocation, whichever way the pooled optimizer reads the stored value).
+@Component
+public class IdGeneratorSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    // Table name doubles as the generator's pkColumnValue; the largest allocationSize in use covers them all
+    private static final List<String> TABLES = List.of(
+        "users", "admins", "accounts", "account_balance_slots", "transactions", "loans", "idempotency_keys");
+    private static final long HEADROOM = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema exists (ddl-auto runs while the factory is built) before seeding
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if (maxId == null || maxId == 0) {
+                continue;
+            }
+            long floor = maxId + HEADROOM + 1;
+            List<Long> current = jdbcTemplate.queryForList(
+                "SELECT next_id FROM id_generators WHERE entity_name = ?", Long.class, table);
+            if (current.isEmpty()) {
+                try {
+                    jdbcTemplate.update("INSERT INTO id_generators (entity_name, next_id) VALUES (?, ?)", table, floor);
+                    logger.info("Seeded id generator for {} at {}", table, floor);
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance seeded it first
+                }
+            } else if (current.get(0) <= maxId) {
+                jdbcTemplate.update("UPDATE id_generators SET next_id = ? WHERE entity_name = ? AND next_id < ?",
+                    floor, table, floor);
+                logger.info("Moved id generator for {} to {}", table, floor);
+            }
+        }
+    }
+}
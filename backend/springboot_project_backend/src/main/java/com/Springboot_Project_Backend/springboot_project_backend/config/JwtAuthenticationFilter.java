@@ -2,14 +2,19 @@ package com.Springboot_Project_Backend.springboot_project_backend.config;
 
 import com.Springboot_Project_Backend.springboot_project_backend.service.UserService;
 import com.Springboot_Project_Backend.springboot_project_backend.service.AdminService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.PrincipalCache;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TokenRevocationService;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.AdminRepository;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Admin;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import com.Springboot_Project_Backend.springboot_project_backend.util.LogSampler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,6 +39,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Per-request debug events are sampled so debug logging can stay on under load
+    private LogSampler debugSampler;
+
+    @Value("${logging.sampling.debug-rate:100}")
+    public void setDebugSampleRate(int rate) {
+        this.debugSampler = new LogSampler(rate);
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
@@ -44,35 +63,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        JwtClaims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
-            System.out.println("JWT Filter - Token found: " + jwt.substring(0, Math.min(20, jwt.length())) + "...");
-            System.out.println("JWT Filter - Request URI: " + requestURI);
             try {
-                username = jwtUtil.extractUsername(jwt);
-                System.out.println("JWT Filter - Username extracted: " + username);
-
-                // Check if token is expired
-                if (jwtUtil.isTokenExpired(jwt)) {
-                    System.out.println("JWT Filter - Token is expired for user: " + username);
-                    response.setStatus(401);
-                    response.setContentType("application/json");
-                    response.getWriter().write("{\"error\":\"Token expired\"}");
-                    return;
-                }
+                // One verification per token; later requests with the same token are a cache lookup
+                claims = jwtUtil.verify(jwt);
+                username = claims.getSubject();
+            } catch (ExpiredJwtException e) {
+                response.setStatus(401);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Token expired\"}");
+                return;
             } catch (Exception e) {
-                System.out.println("JWT Filter - Token parsing failed: " + e.getMessage());
-                logger.warn("JWT token parsing failed: " + e.getMessage());
+                if (logger.isDebugEnabled() && debugSampler.sample()) {
+                    logger.debug("JWT token rejected: " + e.getMessage());
+                }
                 response.setStatus(401);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\":\"Invalid token\"}");
                 return;
             }
+            // A Bloom filter lookup unless the token or its subject may have been revoked
+            if (tokenRevocationService.isRevoked(claims, realmOf(requestURI))) {
+                response.setStatus(401);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Token revoked\"}");
+                return;
+            }
         } else {
-            System.out.println("JWT Filter - No Authorization header or invalid format. Header: " + authorizationHeader);
             if (!requestURI.startsWith("/api/auth") && !requestURI.startsWith("/api/admin/login")) {
-                System.out.println("JWT Filter - Authentication required for: " + requestURI);
                 response.setStatus(401);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\":\"Authentication required\"}");
@@ -82,54 +103,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = null;
-                
+                UserDetails userDetails;
+                final String email = username;
+
                 // Check if this is an admin endpoint
-                if (requestURI.startsWith("/api/admin")) {
-                    System.out.println("JWT Filter - Admin endpoint detected, checking admin authentication");
-                    Optional<Admin> adminOpt = adminRepository.findByEmail(username);
-                    
-                    if (adminOpt.isPresent()) {
-                        Admin admin = adminOpt.get();
-                        System.out.println("JWT Filter - Admin found: " + admin.getEmail() + ", Status: " + admin.getStatus());
-                        
-                        if (admin.getStatus() == Admin.AdminStatus.ACTIVE) {
-                            // Create UserDetails for admin with admin role
-                            userDetails = User.builder()
-                                .username(admin.getEmail())
-                                .password(admin.getPassword())
-                                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
-                                .build();
-                            System.out.println("JWT Filter - Admin UserDetails created with ROLE_ADMIN");
-                        } else {
-                            System.out.println("JWT Filter - Admin account is not active: " + admin.getStatus());
-                        }
-                    } else {
-                        System.out.println("JWT Filter - No admin found with email: " + username);
-                    }
+                if (realmOf(requestURI) == PrincipalCache.Realm.ADMIN) {
+                    userDetails = principalCache.get(PrincipalCache.Realm.ADMIN, email, () -> loadAdmin(email));
                 } else {
                     // Regular user endpoint
-                    System.out.println("JWT Filter - Regular user endpoint, using UserService");
-                    userDetails = userService.loadUserByUsername(username);
+                    userDetails = principalCache.get(PrincipalCache.Realm.USER, email,
+                        () -> userService.loadUserByUsername(email));
                 }
 
-                if (userDetails != null && jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+                // Suspended users and inactive admins are cached as locked principals
+                if (userDetails != null && userDetails.isAccountNonLocked()
+                        && claims.getSubject().equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authenticationToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                    System.out.println("JWT Filter - Authentication successful for: " + username + " with authorities: " + userDetails.getAuthorities());
-                } else {
-                    System.out.println("JWT Filter - Token validation failed for user: " + username);
+                    if (logger.isDebugEnabled() && debugSampler.sample()) {
+                        logger.debug("Authenticated request with authorities " + userDetails.getAuthorities());
+                    }
+                } else if (logger.isDebugEnabled() && debugSampler.sample()) {
+                    logger.debug("No active principal for the token subject");
                 }
             } catch (Exception e) {
-                System.out.println("JWT Filter - Error during authentication: " + e.getMessage());
-                e.printStackTrace();
+                logger.warn("Authentication failed: " + e.getMessage());
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails loadAdmin(String email) {
+        Optional<Admin> adminOpt = adminRepository.findByEmail(email);
+        if (adminOpt.isEmpty()) {
+            return null;
+        }
+        Admin admin = adminOpt.get();
+        // Create UserDetails for admin with admin role
+        return User.builder()
+            .username(admin.getEmail())
+            .password(admin.getPassword())
+            .accountLocked(admin.getStatus() != Admin.AdminStatus.ACTIVE)
+            .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
+            .build();
+    }
+
+    private static PrincipalCache.Realm realmOf(String requestURI) {
+        return requestURI.startsWith("/api/admin") ? PrincipalCache.Realm.ADMIN : PrincipalCache.Realm.USER;
+    }
+}
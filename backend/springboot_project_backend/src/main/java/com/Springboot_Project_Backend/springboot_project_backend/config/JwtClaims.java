@@ -0,0 +1,31 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+// The claims of a token whose signature has been verified; immutable, so one instance serves every request
+// that presents the same token
+public final class JwtClaims {
+
+    private final String tokenHash;
+    private final String subject;
+    private final Long userId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    public JwtClaims(String tokenHash, String subject, Long userId, long issuedAtMillis, long expiresAtMillis) {
+        this.tokenHash = tokenHash;
+        this.subject = subject;
+        this.userId = userId;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    // SHA-256 of the token, identifying it for revocation without keeping the token itself
+    public String getTokenHash() { return tokenHash; }
+    public String getSubject() { return subject; }
+    public Long getUserId() { return userId; }
+    public long getIssuedAtMillis() { return issuedAtMillis; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
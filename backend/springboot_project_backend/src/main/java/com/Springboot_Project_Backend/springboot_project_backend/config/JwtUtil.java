@@ -2,14 +2,20 @@ package com.Springboot_Project_Backend.springboot_project_backend.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
@@ -17,10 +23,23 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+
     private static final int JWT_EXPIRATION = 86400000; // 24 hours in milliseconds
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Built once; the parser is immutable and safe to share between request threads
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Verified claims by SHA-256 of the token, so a token is only HMAC-checked and parsed on first use.
+    // Entries are dropped once the token expires.
+    private final Map<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String username, Long userId) {
@@ -35,46 +54,77 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Verifies the token (signature and expiry) and returns its claims. Throws ExpiredJwtException for an
+    // expired token and another JwtException for any other invalid one.
+    public JwtClaims verify(String token) {
+        String tokenHash = hash(token);
+        JwtClaims cached = verifiedTokens.get(tokenHash);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                return cached;
+            }
+            // Parsing again reports the expiry the same way as for an uncached token
+            verifiedTokens.remove(tokenHash, cached);
+        }
 
-    public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        Object userIdObj = claims.get("userId");
-        if (userIdObj == null) {
-            throw new IllegalArgumentException("Invalid token: missing userId claim");
+        JwtClaims claims = toJwtClaims(tokenHash, extractAllClaims(token));
+        if (verifiedTokens.size() >= claimsCacheMaxEntries) {
+            evictExpired();
+        }
+        // Still full: the token is verified on every use until room frees up
+        if (verifiedTokens.size() < claimsCacheMaxEntries) {
+            verifiedTokens.put(tokenHash, claims);
         }
-        return Long.valueOf(userIdObj.toString());
+        return claims;
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(claims -> claims.isExpired(now));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    // The longest a token can stay valid after it is issued
+    public long getTokenLifetimeMillis() {
+        return JWT_EXPIRATION;
     }
 
+    public String extractUsername(String token) {
+        return verify(token).getSubject();
+    }
+
+    public Long extractUserId(String token) {
+        Long userId = verify(token).getUserId();
+        if (userId == null) {
+            throw new IllegalArgumentException("Invalid token: missing userId claim");
+        }
+        return userId;
+    }
+
+    // The only place a token is parsed; everything else goes through verify() and its cache
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private JwtClaims toJwtClaims(String tokenHash, Claims claims) {
+        Object userIdObj = claims.get("userId");
+        Long userId = userIdObj == null ? null : Long.valueOf(userIdObj.toString());
+        long issuedAt = claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime();
+        // jjwt accepts a token without an expiry as never expiring
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        return new JwtClaims(tokenHash, claims.getSubject(), userId, issuedAt, expiresAt);
     }
 
-    public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import com.Springboot_Project_Backend.springboot_project_backend.util.RateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket throttling for sign-in, registration and transfers, keyed by client IP, by the email in the
+// request body and by the user in the bearer token. It runs ahead of JwtAuthenticationFilter, so a caller
+// over its limit gets 429 with Retry-After before any database lookup or password hashing.
+// Limits are "<requests>/<seconds>" per route and dimension; "0" turns one off.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Login and registration bodies are small; larger ones are still passed on, just not inspected
+    private static final int MAX_INSPECTED_BODY = 16 * 1024;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.login.per-ip:20/60}")
+    private String loginPerIp;
+
+    @Value("${rate-limit.login.per-email:5/60}")
+    private String loginPerEmail;
+
+    @Value("${rate-limit.admin-login.per-ip:10/60}")
+    private String adminLoginPerIp;
+
+    @Value("${rate-limit.admin-login.per-email:5/60}")
+    private String adminLoginPerEmail;
+
+    @Value("${rate-limit.register.per-ip:5/60}")
+    private String registerPerIp;
+
+    @Value("${rate-limit.transfer.per-ip:120/60}")
+    private String transferPerIp;
+
+    @Value("${rate-limit.transfer.per-user:30/60}")
+    private String transferPerUser;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private RateLimiter rateLimiter;
+    private List<RoutePolicy> policies;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new RateLimiter(maxKeys);
+        policies = List.of(
+            new RoutePolicy("login", "/api/auth/login", loginPerIp, loginPerEmail, null),
+            new RoutePolicy("admin-login", "/api/admin/login", adminLoginPerIp, adminLoginPerEmail, null),
+            new RoutePolicy("register", "/api/auth/register", registerPerIp, null, null),
+            new RoutePolicy("transfer", "/api/transactions/transfer", transferPerIp, null, transferPerUser));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RoutePolicy policy = enabled ? policyFor(request) : null;
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Cheapest dimension first; a rejected request takes no token from the later buckets
+        long waitNanos = acquire(policy, "ip", request.getRemoteAddr(), policy.perIp);
+        if (waitNanos == 0 && policy.perUser != null) {
+            waitNanos = acquire(policy, "user", bearerSubject(request), policy.perUser);
+        }
+        if (waitNanos == 0 && policy.perEmail != null) {
+            InspectedRequest inspected = new InspectedRequest(request);
+            request = inspected;
+            waitNanos = acquire(policy, "email", emailOf(inspected), policy.perEmail);
+        }
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Too many requests, please retry later\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Drops buckets that have refilled completely; they behave the same as absent ones
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        rateLimiter.evictIdle();
+    }
+
+    private long acquire(RoutePolicy policy, String dimension, String value, RateLimiter.Limit limit) {
+        if (limit == null || value == null || value.isEmpty()) {
+            return 0;
+        }
+        return rateLimiter.tryAcquire(policy.name + '|' + dimension + '|' + value, limit);
+    }
+
+    private RoutePolicy policyFor(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RoutePolicy policy : policies) {
+            if (policy.path.equals(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    // An invalid token is left for JwtAuthenticationFilter to reject
+    private String bearerSubject(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.verify(authorizationHeader.substring(7)).getSubject();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String emailOf(InspectedRequest request) {
+        byte[] body = request.inspectedBody();
+        if (body.length == 0 || request.isTruncated()) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static final class RoutePolicy {
+        private final String name;
+        private final String path;
+        private final RateLimiter.Limit perIp;
+        private final RateLimiter.Limit perEmail;
+        private final RateLimiter.Limit perUser;
+
+        private RoutePolicy(String name, String path, String perIp, String perEmail, String perUser) {
+            this.name = name;
+            this.path = path;
+            this.perIp = RateLimiter.Limit.parse(perIp);
+            this.perEmail = RateLimiter.Limit.parse(perEmail);
+            this.perUser = RateLimiter.Limit.parse(perUser);
+        }
+    }
+
+    // Reads up to MAX_INSPECTED_BODY bytes of the body up front and replays them, followed by whatever
+    // was not read, to the rest of the chain
+    private static final class InspectedRequest extends HttpServletRequestWrapper {
+        private final byte[] prefix;
+        private final boolean truncated;
+        private ServletInputStream stream;
+
+        private InspectedRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream in = request.getInputStream();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int read;
+            while (buffer.size() <= MAX_INSPECTED_BODY
+                    && (read = in.read(chunk, 0, Math.min(chunk.length, MAX_INSPECTED_BODY + 1 - buffer.size()))) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            this.prefix = buffer.toByteArray();
+            this.truncated = prefix.length > MAX_INSPECTED_BODY;
+        }
+
+        private byte[] inspectedBody() {
+            return prefix;
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                InputStream replay = truncated
+                    ? new SequenceInputStream(new ByteArrayInputStream(prefix), super.getInputStream())
+                    : new ByteArrayInputStream(prefix);
+                stream = new ReplayInputStream(replay);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class ReplayInputStream extends ServletInputStream {
+        private final InputStream delegate;
+        private boolean finished;
+
+        private ReplayInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            finished = b == -1;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            finished = read == -1;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        // The inspected prefix is already in memory and any remainder is a blocking container stream, so the
+        // listener can drain everything at once and is then told the body is complete
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!finished) {
+                    readListener.onDataAvailable();
+                }
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.Springboot_Project_Backend.springboot_project_backend.controller;
 
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSnapshot;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
 import com.Springboot_Project_Backend.springboot_project_backend.service.AccountService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +29,7 @@ public class AccountController {
     public ResponseEntity<?> getCustomerAccounts(@RequestParam Long userId) {
         try {
             logger.info("Fetching accounts for userId: {}", userId);
-            List<Account> accounts = accountService.getAccountsByUserId(userId);
+            List<AccountSnapshot> accounts = accountService.getAccountSnapshotsByUserId(userId);
             logger.info("Found {} accounts", accounts.size());
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
@@ -43,7 +44,7 @@ public class AccountController {
     public ResponseEntity<?> getCustomerAccountsByPath(@PathVariable Long userId) {
         try {
             logger.info("Fetching accounts for userId (path): {}", userId);
-            List<Account> accounts = accountService.getAccountsByUserId(userId);
+            List<AccountSnapshot> accounts = accountService.getAccountSnapshotsByUserId(userId);
             logger.info("Found {} accounts", accounts.size());
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
@@ -65,7 +66,7 @@ public class AccountController {
             }
 
             Long accountIdLong = Long.parseLong(accountId);
-            Account account = accountService.getAccountById(accountIdLong);
+            AccountSnapshot account = accountService.getAccountSnapshot(accountIdLong);
             return ResponseEntity.ok(account);
         } catch (NumberFormatException e) {
             Map<String, String> error = new HashMap<>();
@@ -103,8 +104,8 @@ public class AccountController {
     @GetMapping("/balance/{accountNumber}")
     public ResponseEntity<?> getAccountBalance(@PathVariable String accountNumber) {
         try {
-            Account account = accountService.getAccountByNumber(accountNumber);
-            
+            AccountSnapshot account = accountService.getAccountSnapshotByNumber(accountNumber);
+
             Map<String, Object> response = new HashMap<>();
             response.put("accountNumber", account.getAccountNumber());
             response.put("balance", account.getBalance());
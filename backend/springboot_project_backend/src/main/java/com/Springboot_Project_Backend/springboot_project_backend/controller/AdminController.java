@@ -4,31 +4,73 @@ import com.Springboot_Project_Backend.springboot_project_backend.config.JwtUtil;
 import com.Springboot_Project_Backend.springboot_project_backend.dto.*;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Admin;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.service.AccountService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.AdminListingService;
 import com.Springboot_Project_Backend.springboot_project_backend.service.AdminService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.CacheStatisticsService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.DashboardStreamService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.PasswordHashingService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionDailyCounter;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionExportService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AdminController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Completes on the password-hashing pool, so the request thread is free while BCrypt runs
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody AdminLoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(@Valid @RequestBody AdminLoginRequest loginRequest) {
+        CompletableFuture<AdminResponse> authentication;
         try {
-            AdminResponse admin = adminService.authenticateAdmin(loginRequest);
+            authentication = adminService.authenticateAdmin(loginRequest);
+        } catch (Exception e) {
+            authentication = CompletableFuture.failedFuture(e);
+        }
+        return authentication.thenApply(admin -> {
             String token = jwtUtil.generateToken(admin.getEmail(), admin.getId());
             
             Map<String, Object> response = new HashMap<>();
@@ -37,18 +79,20 @@ public class AdminController {
             response.put("message", "Admin login successful");
             
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
+        }).exceptionally(failure -> {
+            Throwable cause = PasswordHashingService.causeOf(failure);
             Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", e.getMessage());
+            errorResponse.put("error", cause.getMessage());
+            if (cause instanceof RejectedExecutionException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
+            }
             return ResponseEntity.badRequest().body(errorResponse);
-        }
+        });
     }
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<?> getDashboardStats() {
         try {
-            System.out.println("AdminController: Getting dashboard stats...");
-            
             // Create a simple fallback response if database is empty
             AdminDashboardStats stats = new AdminDashboardStats();
             stats.setTotalUsers(0);
@@ -64,16 +108,14 @@ public class AdminController {
             
             try {
                 stats = adminService.getDashboardStats();
-                System.out.println("AdminController: Successfully retrieved dashboard stats from service");
             } catch (Exception serviceException) {
-                System.err.println("AdminController: Service error, using fallback stats: " + serviceException.getMessage());
+                logger.warn("Dashboard stats unavailable, returning empty stats: {}", serviceException.getMessage());
                 // Return the fallback stats instead of throwing error
             }
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
-            System.err.println("AdminController: Error getting dashboard stats: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Could not get dashboard stats", e);
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
             errorResponse.put("details", "Failed to retrieve dashboard statistics");
@@ -81,6 +123,18 @@ public class AdminController {
         }
     }
 
+    // Server-Sent Events: a full "stats" event, then a "delta" with the changed figures at most once per
+    // dashboard.stream.interval-ms. Every viewer shares one stats read per interval.
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDashboardStats() {
+        try {
+            return ResponseEntity.ok(dashboardStreamService.subscribe());
+        } catch (RejectedExecutionException e) {
+            logger.warn("Dashboard stream rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+    }
+
     // Admin Management Endpoints
     @GetMapping("/admins")
     public ResponseEntity<List<AdminResponse>> getAllAdmins() {
@@ -148,13 +202,33 @@ public class AdminController {
     }
 
     // User Management Endpoints
+    // Filterable, keyset-paged directory; pass nextCursor back with the same filters and sort for the next page
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) String status,
+                                      @RequestParam(required = false) String city,
+                                      @RequestParam(required = false) String state,
+                                      @RequestParam(required = false) String createdFrom,
+                                      @RequestParam(required = false) String createdTo,
+                                      @RequestParam(required = false) String sort,
+                                      @RequestParam(required = false) String direction,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit) {
         try {
-            List<User> users = adminService.getAllUsers();
-            return ResponseEntity.ok(users);
+            UserSearchCriteria criteria = new UserSearchCriteria();
+            if (status != null && !status.isBlank()) {
+                criteria.setStatus(User.UserStatus.valueOf(status.trim().toUpperCase()));
+            }
+            criteria.setCity(city != null && !city.isBlank() ? city.trim() : null);
+            criteria.setState(state != null && !state.isBlank() ? state.trim() : null);
+            criteria.setCreatedFrom(createdFrom != null ? LocalDate.parse(createdFrom) : null);
+            criteria.setCreatedTo(createdTo != null ? LocalDate.parse(createdTo) : null);
+            criteria.setSort(UserSearchCriteria.SortField.parse(sort));
+            criteria.setDescending(UserSearchCriteria.parseDescending(direction, criteria.getSort()));
+            return ResponseEntity.ok(adminService.searchUsers(criteria, cursor, limit));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         }
     }
 
@@ -183,18 +257,101 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<Map<String, String>> revokeUserTokens(@PathVariable Long userId) {
+        try {
+            adminService.revokeUserTokens(userId);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "User tokens revoked successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
     // Account Management Endpoints
+    // Listings take status, type, minAmount/maxAmount, from/to (dates, inclusive), ownerId or ownerEmail. Without
+    // `format` they return keyset pages; with format=ndjson or csv every matching row is streamed as it is read.
     @GetMapping("/accounts")
-    public ResponseEntity<List<Object>> getAllAccounts() {
-        // This would be implemented with AccountService
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> getAllAccounts(@RequestParam(required = false) String status,
+                                            @RequestParam(required = false) String type,
+                                            @RequestParam(required = false) String minAmount,
+                                            @RequestParam(required = false) String maxAmount,
+                                            @RequestParam(required = false) String from,
+                                            @RequestParam(required = false) String to,
+                                            @RequestParam(required = false) Long ownerId,
+                                            @RequestParam(required = false) String ownerEmail,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String format) {
+        try {
+            AdminListingCriteria criteria = listingCriteria(status, type, minAmount, maxAmount, from, to, ownerId, ownerEmail);
+            if (format != null) {
+                TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+                return streamListing("accounts", exportFormat,
+                    out -> adminListingService.exportAccounts(criteria, exportFormat, out));
+            }
+            return ResponseEntity.ok(adminListingService.listAccounts(criteria, cursor, limit));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @PutMapping("/accounts/{accountId}/balance-slots")
+    public ResponseEntity<Map<String, Object>> setBalanceSlots(@PathVariable Long accountId, @RequestBody Map<String, Integer> request) {
+        try {
+            Integer slots = request.get("slots");
+            if (slots == null) {
+                throw new IllegalArgumentException("Missing required field: slots");
+            }
+            accountService.setBalanceSlots(accountId, slots);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", slots == 0 ? "Balance splitting disabled" : "Balance splitting enabled");
+            response.put("accountId", accountId);
+            response.put("slots", slots);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
     }
 
     // Loan Management Endpoints
     @GetMapping("/loans")
-    public ResponseEntity<List<Object>> getAllLoans() {
-        // This would be implemented with LoanService
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> getAllLoans(@RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) String minAmount,
+                                         @RequestParam(required = false) String maxAmount,
+                                         @RequestParam(required = false) String from,
+                                         @RequestParam(required = false) String to,
+                                         @RequestParam(required = false) Long ownerId,
+                                         @RequestParam(required = false) String ownerEmail,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String format) {
+        try {
+            AdminListingCriteria criteria = listingCriteria(status, type, minAmount, maxAmount, from, to, ownerId, ownerEmail);
+            if (format != null) {
+                TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+                return streamListing("loans", exportFormat,
+                    out -> adminListingService.exportLoans(criteria, exportFormat, out));
+            }
+            return ResponseEntity.ok(adminListingService.listLoans(criteria, cursor, limit));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
     }
 
     @PutMapping("/loans/{loanId}/approve")
@@ -227,14 +384,118 @@ public class AdminController {
 
     // Transaction Monitoring Endpoints
     @GetMapping("/transactions")
-    public ResponseEntity<List<Object>> getAllTransactions() {
-        // This would be implemented with TransactionService
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> getAllTransactions(@RequestParam(required = false) String status,
+                                                @RequestParam(required = false) String type,
+                                                @RequestParam(required = false) String minAmount,
+                                                @RequestParam(required = false) String maxAmount,
+                                                @RequestParam(required = false) String from,
+                                                @RequestParam(required = false) String to,
+                                                @RequestParam(required = false) Long ownerId,
+                                                @RequestParam(required = false) String ownerEmail,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String format) {
+        try {
+            AdminListingCriteria criteria = listingCriteria(status, type, minAmount, maxAmount, from, to, ownerId, ownerEmail);
+            if (format != null) {
+                TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+                return streamListing("transactions", exportFormat,
+                    out -> adminListingService.exportTransactions(criteria, exportFormat, out));
+            }
+            return ResponseEntity.ok(adminListingService.listTransactions(criteria, cursor, limit));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    // Transactions per day from the maintained counters; defaults to today
+    @GetMapping("/transactions/daily-counts")
+    public ResponseEntity<?> getDailyTransactionCounts(@RequestParam(required = false) String from,
+                                                       @RequestParam(required = false) String to) {
+        try {
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate;
+            List<Map<String, Object>> counts = new ArrayList<>();
+            transactionDailyCounter.countsBetween(fromDate, toDate).forEach((day, count) -> {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("date", day.toString());
+                entry.put("count", count);
+                counts.add(entry);
+            });
+            return ResponseEntity.ok(counts);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
     }
 
+    // Rebuilds one day's counter from the transaction rows
+    @PostMapping("/transactions/daily-counts/{date}/recount")
+    public ResponseEntity<Map<String, Object>> recountDailyTransactions(@PathVariable String date) {
+        try {
+            LocalDate day = LocalDate.parse(date);
+            Map<String, Object> response = new HashMap<>();
+            response.put("date", day.toString());
+            response.put("count", transactionDailyCounter.recount(day));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    // Same filters as /transactions, limited to amounts at or above admin.suspicious.amount-threshold
     @GetMapping("/transactions/suspicious")
-    public ResponseEntity<List<Object>> getSuspiciousTransactions() {
-        // This would be implemented to detect suspicious activities
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> getSuspiciousTransactions(@RequestParam(required = false) String status,
+                                                       @RequestParam(required = false) String type,
+                                                       @RequestParam(required = false) String minAmount,
+                                                       @RequestParam(required = false) String maxAmount,
+                                                       @RequestParam(required = false) String from,
+                                                       @RequestParam(required = false) String to,
+                                                       @RequestParam(required = false) Long ownerId,
+                                                       @RequestParam(required = false) String ownerEmail,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String format) {
+        try {
+            AdminListingCriteria criteria = listingCriteria(status, type, minAmount, maxAmount, from, to, ownerId, ownerEmail);
+            if (format != null) {
+                TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+                return streamListing("suspicious-transactions", exportFormat,
+                    out -> adminListingService.exportSuspiciousTransactions(criteria, exportFormat, out));
+            }
+            return ResponseEntity.ok(adminListingService.listSuspiciousTransactions(criteria, cursor, limit));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    private AdminListingCriteria listingCriteria(String status, String type, String minAmount, String maxAmount,
+                                                 String from, String to, Long ownerId, String ownerEmail) {
+        AdminListingCriteria criteria = new AdminListingCriteria();
+        criteria.setStatus(status != null && !status.isBlank() ? status.trim() : null);
+        criteria.setType(type != null && !type.isBlank() ? type.trim() : null);
+        criteria.setMinAmount(minAmount != null ? new BigDecimal(minAmount) : null);
+        criteria.setMaxAmount(maxAmount != null ? new BigDecimal(maxAmount) : null);
+        criteria.setFrom(from != null ? LocalDate.parse(from) : null);
+        criteria.setTo(to != null ? LocalDate.parse(to) : null);
+        criteria.setOwnerId(ownerId);
+        criteria.setOwnerEmail(ownerEmail != null && !ownerEmail.isBlank() ? ownerEmail.trim() : null);
+        return criteria;
+    }
+
+    // Rows are written as they are read, so heap use does not depend on the size of the table
+    private ResponseEntity<StreamingResponseBody> streamListing(String name, TransactionExportService.ExportFormat format,
+                                                                StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+            .body(body);
     }
 }
@@ -5,55 +5,62 @@ import com.Springboot_Project_Backend.springboot_project_backend.dto.LoginReques
 import com.Springboot_Project_Backend.springboot_project_backend.dto.RegisterRequest;
 import com.Springboot_Project_Backend.springboot_project_backend.dto.UserResponse;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.service.PasswordHashingService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TokenRevocationService;
 import com.Springboot_Project_Backend.springboot_project_backend.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
-        try {
-            System.out.println("Registration request received: " + request.getEmail());
-            System.out.println("Request details - FirstName: " + request.getFirstName() + ", Phone: " + request.getPhoneNumber());
-
-            UserResponse userResponse = userService.registerUser(request);
-            System.out.println("User registered successfully with ID: " + userResponse.getId());
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request) {
+        return userService.registerUser(request).<ResponseEntity<?>>thenApply(userResponse -> {
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User registered successfully");
             response.put("user", userResponse);
 
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            System.out.println("Registration failed for email: " + request.getEmail());
-            System.out.println("Error: " + e.getMessage());
-            e.printStackTrace();
+        }).exceptionally(failure -> {
+            Throwable cause = PasswordHashingService.causeOf(failure);
+            if (cause instanceof RejectedExecutionException) {
+                return busy(cause);
+            }
+            logger.info("Registration rejected: {}", cause.getMessage());
             Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
+            error.put("error", cause.getMessage());
             return ResponseEntity.badRequest().body(error);
-        }
+        });
     }
 
+    // Completes on the password-hashing pool, so the request thread is free while BCrypt runs
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        try {
-            Optional<User> userOpt = userService.findByEmail(request.getEmail());
-            
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
+        return userService.authenticate(request.getEmail(), request.getPassword()).<ResponseEntity<?>>thenApply(userOpt -> {
             if (userOpt.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Invalid email or password");
@@ -61,12 +68,6 @@ public class AuthController {
             }
 
             User user = userOpt.get();
-            if (!userService.validatePassword(request.getPassword(), user.getPassword())) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Invalid email or password");
-                return ResponseEntity.badRequest().body(error);
-            }
-
             UserResponse userResponse = new UserResponse(user);
 
             // Generate JWT token
@@ -77,10 +78,35 @@ public class AuthController {
             response.put("user", userResponse);
             response.put("token", token);
 
+            return ResponseEntity.ok(response);
+        }).exceptionally(failure -> {
+            Throwable cause = PasswordHashingService.causeOf(failure);
+            if (cause instanceof RejectedExecutionException) {
+                return busy(cause);
+            }
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Login failed: " + cause.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        });
+    }
+
+    // Revokes the presented token on every instance, for the rest of its lifetime
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        try {
+            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Authentication required");
+                return ResponseEntity.badRequest().body(error);
+            }
+            tokenRevocationService.revokeToken(jwtUtil.verify(authorizationHeader.substring(7)));
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Logout successful");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
-            error.put("error", "Login failed: " + e.getMessage());
+            error.put("error", "Logout failed: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -107,4 +133,10 @@ public class AuthController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    private ResponseEntity<?> busy(Throwable cause) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", cause.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+    }
 }
@@ -0,0 +1,134 @@
+package com.Springboot_Project_Backend.springboot_project_backend.controller;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentJobStatus;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentLineResult;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.ResourceNotFoundException;
+import com.Springboot_Project_Backend.springboot_project_backend.service.BulkPaymentService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Payment files are sent as the raw request body (NDJSON, or CSV with a header row)
+@RestController
+@RequestMapping("/api/transactions/bulk")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BulkPaymentController {
+
+    @Autowired
+    private BulkPaymentService bulkPaymentService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("User not authenticated");
+        }
+        String email = authentication.getName();
+        return userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Applies the whole file before answering; use /jobs for large files
+    @PostMapping
+    public ResponseEntity<?> processPayments(@RequestParam Long sourceAccountId,
+                                             @RequestParam(required = false) String format,
+                                             HttpServletRequest request) {
+        try {
+            BulkPaymentService.PaymentFileFormat fileFormat =
+                BulkPaymentService.PaymentFileFormat.from(format, request.getContentType());
+            checkOwnership(sourceAccountId);
+
+            List<BulkPaymentLineResult> results = new ArrayList<>();
+            BulkPaymentJobStatus summary = bulkPaymentService.process(
+                sourceAccountId, request.getInputStream(), fileFormat, results::add);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("summary", summary);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitJob(@RequestParam Long sourceAccountId,
+                                       @RequestParam(required = false) String format,
+                                       HttpServletRequest request) {
+        try {
+            BulkPaymentService.PaymentFileFormat fileFormat =
+                BulkPaymentService.PaymentFileFormat.from(format, request.getContentType());
+            User currentUser = checkOwnership(sourceAccountId);
+
+            BulkPaymentJobStatus job = bulkPaymentService.submitJob(
+                currentUser.getId(), sourceAccountId, request.getInputStream(), fileFormat);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJobStatus(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(bulkPaymentService.getJobStatus(jobId, getCurrentUser().getId()));
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    // One NDJSON result per payment line, in file order
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<?> getJobResults(@PathVariable String jobId) {
+        try {
+            Long userId = getCurrentUser().getId();
+            bulkPaymentService.checkJobFinished(jobId, userId);
+            StreamingResponseBody body = out -> bulkPaymentService.writeJobResults(jobId, userId, out);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    private User checkOwnership(Long sourceAccountId) {
+        User currentUser = getCurrentUser();
+        if (!transactionService.isAccountOwnedByUser(sourceAccountId, currentUser.getId())) {
+            throw new RuntimeException("Access denied: Account does not belong to user");
+        }
+        return currentUser;
+    }
+
+    private ResponseEntity<?> errorResponse(Exception e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e instanceof IOException ? "Failed to read payment file" : e.getMessage());
+        if (e instanceof ResourceNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        if (e.getMessage() != null && e.getMessage().contains("Access denied")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        return ResponseEntity.badRequest().body(error);
+    }
+}
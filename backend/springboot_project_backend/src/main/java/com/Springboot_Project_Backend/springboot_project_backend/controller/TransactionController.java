@@ -1,20 +1,31 @@
 package com.Springboot_Project_Backend.springboot_project_backend.controller;
 
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionPage;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.TransactionOutcomeUnknownException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.TransferPendingException;
+import com.Springboot_Project_Backend.springboot_project_backend.service.IdempotencyService;
+import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionExportService;
 import com.Springboot_Project_Backend.springboot_project_backend.service.TransactionService;
 import com.Springboot_Project_Backend.springboot_project_backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,9 +40,15 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -43,8 +60,13 @@ public class TransactionController {
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<?> getTransactions(@RequestParam(required = false) Long accountId) {
+    public ResponseEntity<?> getTransactions(@RequestParam(required = false) Long accountId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit) {
         try {
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(getTransactionPageForUser(accountId, cursor, limit));
+            }
             List<Transaction> transactions = getTransactionsForUser(accountId);
             return ResponseEntity.ok(transactions);
         } catch (RuntimeException e) {
@@ -58,8 +80,13 @@ public class TransactionController {
     }
 
     @GetMapping("/customer/transactions")
-    public ResponseEntity<?> getCustomerTransactions(@RequestParam(required = false) Long accountId) {
+    public ResponseEntity<?> getCustomerTransactions(@RequestParam(required = false) Long accountId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
         try {
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(getTransactionPageForUser(accountId, cursor, limit));
+            }
             List<Transaction> transactions = getTransactionsForUser(accountId);
             return ResponseEntity.ok(transactions);
         } catch (RuntimeException e) {
@@ -72,6 +99,39 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/transactions/export")
+    public ResponseEntity<?> exportTransactions(@RequestParam(required = false) Long accountId,
+                                                @RequestParam(required = false) String format) {
+        try {
+            TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+            User currentUser = getCurrentUser();
+            if (accountId != null && !transactionService.isAccountOwnedByUser(accountId, currentUser.getId())) {
+                throw new RuntimeException("Access denied: Account does not belong to user");
+            }
+            Long userId = currentUser.getId();
+
+            // Rows are written as they are read, so heap use does not depend on history size
+            StreamingResponseBody body = out -> {
+                if (accountId != null) {
+                    transactionExportService.exportByAccountId(accountId, exportFormat, out);
+                } else {
+                    transactionExportService.exportByUserId(userId, exportFormat, out);
+                }
+            };
+
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("Access denied")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(createErrorResponse(e.getMessage()));
+            }
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
     @GetMapping("/transactions/{transactionId}")
     public ResponseEntity<?> getTransactionDetails(@PathVariable Long transactionId) {
         try {
@@ -85,7 +145,9 @@ public class TransactionController {
     }
 
     @GetMapping("/accounts/{accountId}/transactions")
-    public ResponseEntity<?> getAccountTransactions(@PathVariable String accountId) {
+    public ResponseEntity<?> getAccountTransactions(@PathVariable String accountId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
         try {
             // Validate accountId is numeric
             if (!accountId.matches("\\d+")) {
@@ -95,12 +157,20 @@ public class TransactionController {
             }
 
             Long accountIdLong = Long.parseLong(accountId);
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(getTransactionPageForUser(accountIdLong, cursor, limit));
+            }
             List<Transaction> transactions = transactionService.getTransactionsByAccountId(accountIdLong);
             return ResponseEntity.ok(transactions);
         } catch (NumberFormatException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid account ID format");
             return ResponseEntity.badRequest().body(error);
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("Access denied")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(createErrorResponse(e.getMessage()));
+            }
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -109,7 +179,13 @@ public class TransactionController {
     }
 
     @PostMapping("/transactions")
-    public ResponseEntity<?> createTransaction(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> createTransaction(@RequestBody Map<String, Object> request,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/transactions", request,
+            () -> processCreateTransaction(request));
+    }
+
+    private ResponseEntity<?> processCreateTransaction(Map<String, Object> request) {
         try {
             logger.info("Create transaction request received: {}", request);
 
@@ -142,6 +218,11 @@ public class TransactionController {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } catch (RejectedExecutionException e) {
+            return busy(e);
+        } catch (TransactionOutcomeUnknownException | DataAccessException | TransactionException e) {
+            logger.error("Transaction outcome unknown: {}", e.getMessage());
+            return outcomeUnknown(e);
         } catch (Exception e) {
             logger.error("Exception creating transaction: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -151,7 +232,13 @@ public class TransactionController {
     }
 
     @PostMapping("/transactions/transfer")
-    public ResponseEntity<?> transferFunds(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> transferFunds(@RequestBody Map<String, Object> request,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/transactions/transfer", request,
+            () -> processTransferFunds(request));
+    }
+
+    private ResponseEntity<?> processTransferFunds(Map<String, Object> request) {
         try {
             validateTransferFundsRequest(request);
 
@@ -168,6 +255,11 @@ public class TransactionController {
             response.put("transaction", transaction);
 
             return ResponseEntity.ok(response);
+        } catch (TransferPendingException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            response.put("transaction", e.getTransaction());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } catch (NumberFormatException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid number format for fromAccountId or amount");
@@ -176,6 +268,11 @@ public class TransactionController {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } catch (RejectedExecutionException e) {
+            return busy(e);
+        } catch (TransactionOutcomeUnknownException | DataAccessException | TransactionException e) {
+            logger.error("Transfer outcome unknown: {}", e.getMessage());
+            return outcomeUnknown(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -183,6 +280,20 @@ public class TransactionController {
         }
     }
 
+    // Refused before anything ran; safe to retry with the same Idempotency-Key
+    private ResponseEntity<?> busy(RejectedExecutionException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+    }
+
+    // The posting may or may not have committed, so this must never look like a rejection
+    private ResponseEntity<?> outcomeUnknown(RuntimeException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+
     private void validateCreateTransactionRequest(Map<String, Object> request) {
         if (request.get("accountId") == null || request.get("transactionType") == null ||
             request.get("amount") == null || request.get("description") == null) {
@@ -203,6 +314,18 @@ public class TransactionController {
         return error;
     }
 
+    private TransactionPage getTransactionPageForUser(Long accountId, String cursor, Integer limit) {
+        User currentUser = getCurrentUser();
+        if (accountId != null) {
+            if (!transactionService.isAccountOwnedByUser(accountId, currentUser.getId())) {
+                throw new RuntimeException("Access denied: Account does not belong to user");
+            }
+            return transactionService.getTransactionPageByAccountId(accountId, cursor, limit);
+        } else {
+            return transactionService.getTransactionPageByUserId(currentUser.getId(), cursor, limit);
+        }
+    }
+
     private List<Transaction> getTransactionsForUser(Long accountId) {
         User currentUser = getCurrentUser();
         if (accountId != null) {
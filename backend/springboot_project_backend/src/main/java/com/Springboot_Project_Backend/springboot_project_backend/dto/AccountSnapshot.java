@@ -0,0 +1,44 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Immutable copy of an account as the API renders it; safe to keep in a cache and share between requests
+public class AccountSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String accountNumber;
+    private final Account.AccountType accountType;
+    private final BigDecimal balance;
+    private final Integer balanceSlots;
+    private final Account.AccountStatus status;
+    private final LocalDateTime openDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public AccountSnapshot(Account account) {
+        this.id = account.getId();
+        this.accountNumber = account.getAccountNumber();
+        this.accountType = account.getAccountType();
+        this.balance = account.getVisibleBalance();
+        this.balanceSlots = account.getBalanceSlots();
+        this.status = account.getStatus();
+        this.openDate = account.getOpenDate();
+        this.createdAt = account.getCreatedAt();
+        this.updatedAt = account.getUpdatedAt();
+    }
+
+    public Long getId() { return id; }
+    public String getAccountNumber() { return accountNumber; }
+    public Account.AccountType getAccountType() { return accountType; }
+    public BigDecimal getBalance() { return balance; }
+    public Integer getBalanceSlots() { return balanceSlots; }
+    public Account.AccountStatus getStatus() { return status; }
+    public LocalDateTime getOpenDate() { return openDate; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,62 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Admin account listing row with its owner, read from a JPQL constructor expression
+public class AccountSummary {
+    private Long id;
+    private String accountNumber;
+    private Account.AccountType accountType;
+    private BigDecimal balance;
+    private Account.AccountStatus status;
+    private LocalDateTime createdAt;
+    private Long ownerId;
+    private String ownerName;
+    private String ownerEmail;
+
+    public AccountSummary() {}
+
+    public AccountSummary(Long id, String accountNumber, Account.AccountType accountType, BigDecimal balance,
+                          Account.AccountStatus status, LocalDateTime createdAt, Long ownerId,
+                          String ownerFirstName, String ownerLastName, String ownerEmail) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.balance = balance;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.ownerId = ownerId;
+        this.ownerName = ownerFirstName + " " + ownerLastName;
+        this.ownerEmail = ownerEmail;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public Account.AccountType getAccountType() { return accountType; }
+    public void setAccountType(Account.AccountType accountType) { this.accountType = accountType; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public Account.AccountStatus getStatus() { return status; }
+    public void setStatus(Account.AccountStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public String getOwnerName() { return ownerName; }
+    public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
+
+    public String getOwnerEmail() { return ownerEmail; }
+    public void setOwnerEmail(String ownerEmail) { this.ownerEmail = ownerEmail; }
+}
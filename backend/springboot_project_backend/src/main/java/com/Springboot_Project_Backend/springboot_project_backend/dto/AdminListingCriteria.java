@@ -0,0 +1,43 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Filters shared by the admin account, loan and transaction listings; null filters are not applied.
+// Status and type are enum names of the listed entity, amounts and dates are inclusive.
+public class AdminListingCriteria {
+    private String status;
+    private String type;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private LocalDate from;
+    private LocalDate to;
+    private Long ownerId;
+    private String ownerEmail;
+
+    public AdminListingCriteria() {}
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public String getOwnerEmail() { return ownerEmail; }
+    public void setOwnerEmail(String ownerEmail) { this.ownerEmail = ownerEmail; }
+}
@@ -0,0 +1,59 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BulkPaymentJobStatus {
+    private String jobId;
+    private String status;
+    private long linesProcessed;
+    private long succeeded;
+    private long failed;
+    private BigDecimal amountTransferred;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+
+    public BulkPaymentJobStatus() {}
+
+    public BulkPaymentJobStatus(String jobId, String status, long linesProcessed, long succeeded, long failed,
+                                BigDecimal amountTransferred, String error,
+                                LocalDateTime submittedAt, LocalDateTime finishedAt) {
+        this.jobId = jobId;
+        this.status = status;
+        this.linesProcessed = linesProcessed;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.amountTransferred = amountTransferred;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getLinesProcessed() { return linesProcessed; }
+    public void setLinesProcessed(long linesProcessed) { this.linesProcessed = linesProcessed; }
+
+    public long getSucceeded() { return succeeded; }
+    public void setSucceeded(long succeeded) { this.succeeded = succeeded; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public BigDecimal getAmountTransferred() { return amountTransferred; }
+    public void setAmountTransferred(BigDecimal amountTransferred) { this.amountTransferred = amountTransferred; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
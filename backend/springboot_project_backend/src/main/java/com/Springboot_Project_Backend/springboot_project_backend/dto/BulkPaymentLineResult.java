@@ -0,0 +1,62 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentLineResult {
+    private long lineNumber;
+    private String status;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String transactionId;
+    private String error;
+
+    public BulkPaymentLineResult() {}
+
+    public static BulkPaymentLineResult completed(long lineNumber, String toAccountNumber, BigDecimal amount, String transactionId) {
+        BulkPaymentLineResult result = new BulkPaymentLineResult();
+        result.lineNumber = lineNumber;
+        result.status = "COMPLETED";
+        result.toAccountNumber = toAccountNumber;
+        result.amount = amount;
+        result.transactionId = transactionId;
+        return result;
+    }
+
+    public static BulkPaymentLineResult failed(long lineNumber, String toAccountNumber, BigDecimal amount, String error) {
+        BulkPaymentLineResult result = new BulkPaymentLineResult();
+        result.lineNumber = lineNumber;
+        result.status = "FAILED";
+        result.toAccountNumber = toAccountNumber;
+        result.amount = amount;
+        result.error = error;
+        return result;
+    }
+
+    // The transfer was submitted but did not report back in time; it may still have been applied
+    public static BulkPaymentLineResult unknown(long lineNumber, String toAccountNumber, BigDecimal amount, String error) {
+        BulkPaymentLineResult result = failed(lineNumber, toAccountNumber, amount, error);
+        result.status = "UNKNOWN";
+        return result;
+    }
+
+    public long getLineNumber() { return lineNumber; }
+    public void setLineNumber(long lineNumber) { this.lineNumber = lineNumber; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,84 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Admin loan listing row with its borrower, read from a JPQL constructor expression
+public class LoanSummary {
+    private Long id;
+    private String loanNumber;
+    private Loan.LoanType loanType;
+    private BigDecimal principalAmount;
+    private BigDecimal interestRate;
+    private Integer termMonths;
+    private BigDecimal outstandingAmount;
+    private Loan.LoanStatus status;
+    private LocalDate applicationDate;
+    private LocalDateTime createdAt;
+    private Long ownerId;
+    private String ownerName;
+    private String ownerEmail;
+
+    public LoanSummary() {}
+
+    public LoanSummary(Long id, String loanNumber, Loan.LoanType loanType, BigDecimal principalAmount,
+                       BigDecimal interestRate, Integer termMonths, BigDecimal outstandingAmount,
+                       Loan.LoanStatus status, LocalDate applicationDate, LocalDateTime createdAt, Long ownerId,
+                       String ownerFirstName, String ownerLastName, String ownerEmail) {
+        this.id = id;
+        this.loanNumber = loanNumber;
+        this.loanType = loanType;
+        this.principalAmount = principalAmount;
+        this.interestRate = interestRate;
+        this.termMonths = termMonths;
+        this.outstandingAmount = outstandingAmount;
+        this.status = status;
+        this.applicationDate = applicationDate;
+        this.createdAt = createdAt;
+        this.ownerId = ownerId;
+        this.ownerName = ownerFirstName + " " + ownerLastName;
+        this.ownerEmail = ownerEmail;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getLoanNumber() { return loanNumber; }
+    public void setLoanNumber(String loanNumber) { this.loanNumber = loanNumber; }
+
+    public Loan.LoanType getLoanType() { return loanType; }
+    public void setLoanType(Loan.LoanType loanType) { this.loanType = loanType; }
+
+    public BigDecimal getPrincipalAmount() { return principalAmount; }
+    public void setPrincipalAmount(BigDecimal principalAmount) { this.principalAmount = principalAmount; }
+
+    public BigDecimal getInterestRate() { return interestRate; }
+    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
+
+    public Integer getTermMonths() { return termMonths; }
+    public void setTermMonths(Integer termMonths) { this.termMonths = termMonths; }
+
+    public BigDecimal getOutstandingAmount() { return outstandingAmount; }
+    public void setOutstandingAmount(BigDecimal outstandingAmount) { this.outstandingAmount = outstandingAmount; }
+
+    public Loan.LoanStatus getStatus() { return status; }
+    public void setStatus(Loan.LoanStatus status) { this.status = status; }
+
+    public LocalDate getApplicationDate() { return applicationDate; }
+    public void setApplicationDate(LocalDate applicationDate) { this.applicationDate = applicationDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public String getOwnerName() { return ownerName; }
+    public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
+
+    public String getOwnerEmail() { return ownerEmail; }
+    public void setOwnerEmail(String ownerEmail) { this.ownerEmail = ownerEmail; }
+}
@@ -0,0 +1,83 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Admin transaction listing row with its account and owner, read from a JPQL constructor expression
+public class TransactionSummary {
+    private Long id;
+    private String transactionId;
+    private Transaction.TransactionType type;
+    private BigDecimal amount;
+    private String description;
+    private LocalDateTime transactionDate;
+    private Transaction.TransactionStatus status;
+    private String referenceNumber;
+    private Long accountId;
+    private String accountNumber;
+    private Long ownerId;
+    private String ownerName;
+    private String ownerEmail;
+
+    public TransactionSummary() {}
+
+    public TransactionSummary(Long id, String transactionId, Transaction.TransactionType type, BigDecimal amount,
+                              String description, LocalDateTime transactionDate, Transaction.TransactionStatus status,
+                              String referenceNumber, Long accountId, String accountNumber, Long ownerId,
+                              String ownerFirstName, String ownerLastName, String ownerEmail) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.transactionDate = transactionDate;
+        this.status = status;
+        this.referenceNumber = referenceNumber;
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.ownerId = ownerId;
+        this.ownerName = ownerFirstName + " " + ownerLastName;
+        this.ownerEmail = ownerEmail;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+
+    public Transaction.TransactionStatus getStatus() { return status; }
+    public void setStatus(Transaction.TransactionStatus status) { this.status = status; }
+
+    public String getReferenceNumber() { return referenceNumber; }
+    public void setReferenceNumber(String referenceNumber) { this.referenceNumber = referenceNumber; }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public String getOwnerName() { return ownerName; }
+    public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
+
+    public String getOwnerEmail() { return ownerEmail; }
+    public void setOwnerEmail(String ownerEmail) { this.ownerEmail = ownerEmail; }
+}
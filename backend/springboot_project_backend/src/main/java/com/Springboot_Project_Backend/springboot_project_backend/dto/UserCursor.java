@@ -0,0 +1,44 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset cursor over (sort value, id) in the order named by orderKey
+public class UserCursor {
+    private final String orderKey;
+    private final String value;
+    private final Long id;
+
+    public UserCursor(String orderKey, String value, Long id) {
+        this.orderKey = orderKey;
+        this.value = value;
+        this.id = id;
+    }
+
+    public String getOrderKey() { return orderKey; }
+
+    public String getValue() { return value; }
+
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = orderKey + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The value may itself contain '|', so it is whatever lies between the first and the last one
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('|');
+            int last = raw.lastIndexOf('|');
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new UserCursor(raw.substring(0, first), raw.substring(first + 1, last),
+                Long.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import java.util.List;
+
+public class UserPage {
+    private List<UserSummary> users;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public UserPage() {}
+
+    public UserPage(List<UserSummary> users, String nextCursor, boolean hasMore) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<UserSummary> getUsers() { return users; }
+    public void setUsers(List<UserSummary> users) { this.users = users; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
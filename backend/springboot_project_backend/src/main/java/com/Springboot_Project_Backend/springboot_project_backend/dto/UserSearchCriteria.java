@@ -0,0 +1,88 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filters and order for the admin user directory; null filters are not applied
+public class UserSearchCriteria {
+
+    public enum SortField {
+        CREATED_AT("createdAt"),
+        LAST_NAME("lastName"),
+        EMAIL("email");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() { return property; }
+
+        // Accepts the property name ("createdAt", "lastName", "email"); null means createdAt
+        public static SortField parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CREATED_AT;
+            }
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(value.trim())) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("sort must be one of createdAt, lastName, email");
+        }
+    }
+
+    private User.UserStatus status;
+    private String city;
+    private String state;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+    private SortField sort = SortField.CREATED_AT;
+    private boolean descending = true;
+
+    public UserSearchCriteria() {}
+
+    // Newest first by default, names and emails A to Z
+    public static boolean parseDescending(String direction, SortField sort) {
+        if (direction == null || direction.isBlank()) {
+            return sort == SortField.CREATED_AT;
+        }
+        switch (direction.trim().toLowerCase(Locale.ROOT)) {
+            case "asc":
+                return false;
+            case "desc":
+                return true;
+            default:
+                throw new IllegalArgumentException("direction must be asc or desc");
+        }
+    }
+
+    // Identifies the order a cursor was issued for
+    public String orderKey() {
+        return sort.getProperty() + (descending ? ",desc" : ",asc");
+    }
+
+    public User.UserStatus getStatus() { return status; }
+    public void setStatus(User.UserStatus status) { this.status = status; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public LocalDate getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDate createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDate getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDate createdTo) { this.createdTo = createdTo; }
+
+    public SortField getSort() { return sort; }
+    public void setSort(SortField sort) { this.sort = sort; }
+
+    public boolean isDescending() { return descending; }
+    public void setDescending(boolean descending) { this.descending = descending; }
+}
@@ -0,0 +1,69 @@
+package com.Springboot_Project_Backend.springboot_project_backend.dto;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+
+import java.time.LocalDateTime;
+
+// Admin directory row, read straight from a JPQL constructor expression so no User entity (or password
+// hash) is loaded. The account and loan counts are filled in afterwards for the whole page at once.
+public class UserSummary {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String city;
+    private String state;
+    private User.UserStatus status;
+    private LocalDateTime createdAt;
+    private long accountCount;
+    private long loanCount;
+
+    public UserSummary() {}
+
+    public UserSummary(Long id, String firstName, String lastName, String email, String phoneNumber,
+                       String city, String state, User.UserStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.city = city;
+        this.state = state;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public User.UserStatus getStatus() { return status; }
+    public void setStatus(User.UserStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public long getAccountCount() { return accountCount; }
+    public void setAccountCount(long accountCount) { this.accountCount = accountCount; }
+
+    public long getLoanCount() { return loanCount; }
+    public void setLoanCount(long loanCount) { this.loanCount = loanCount; }
+}
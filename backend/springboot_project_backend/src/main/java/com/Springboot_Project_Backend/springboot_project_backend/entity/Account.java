@@ -7,10 +7,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    // Admin listing: newest first, optionally by status, with id as the keyset tie-breaker
+    @Index(name = "idx_accounts_created", columnList = "created_at, id"),
+    @Index(name = "idx_accounts_status_created", columnList = "status, created_at, id")
+})
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "accounts_id")
+    @TableGenerator(name = "accounts_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "accounts", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -23,6 +29,15 @@ public class Account {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Hot accounts spread their balance over this many AccountBalanceSlot rows; null means not split
+    @Column(name = "balance_slots")
+    private Integer balanceSlots;
+
+    // Sum of the balance slots of a split account, filled in by whoever needs the visible balance
+    @Transient
+    @JsonIgnore
+    private BigDecimal slotBalance;
+
     @Enumerated(EnumType.STRING)
     private AccountStatus status = AccountStatus.ACTIVE;
 
@@ -63,9 +78,23 @@ public class Account {
     public AccountType getAccountType() { return accountType; }
     public void setAccountType(AccountType accountType) { this.accountType = accountType; }
 
+    // The account row only; a split account also holds money in its slots, see getVisibleBalance
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
 
+    // The account row plus the slot balances set by setSlotBalance
+    @JsonIgnore
+    public BigDecimal getVisibleBalance() {
+        if (slotBalance == null || slotBalance.signum() == 0) {
+            return balance;
+        }
+        return balance.add(slotBalance);
+    }
+    public void setSlotBalance(BigDecimal slotBalance) { this.slotBalance = slotBalance; }
+
+    public Integer getBalanceSlots() { return balanceSlots; }
+    public void setBalanceSlots(Integer balanceSlots) { this.balanceSlots = balanceSlots; }
+
     public AccountStatus getStatus() { return status; }
     public void setStatus(AccountStatus status) { this.status = status; }
 
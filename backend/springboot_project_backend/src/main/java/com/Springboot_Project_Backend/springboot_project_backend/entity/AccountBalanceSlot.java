@@ -0,0 +1,48 @@
+package com.Springboot_Project_Backend.springboot_project_backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// One of N sub-balances of a hot account; the account's visible balance is its own balance plus all of its slots
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_balance_slot", columnNames = {"account_id", "slot_index"})
+})
+public class AccountBalanceSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "account_balance_slots_id")
+    @TableGenerator(name = "account_balance_slots_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "account_balance_slots", allocationSize = 20)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "slot_index", nullable = false)
+    private Integer slotIndex;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountBalanceSlot() {}
+
+    public AccountBalanceSlot(Account account, Integer slotIndex) {
+        this.account = account;
+        this.slotIndex = slotIndex;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Account getAccount() { return account; }
+    public void setAccount(Account account) { this.account = account; }
+
+    public Integer getSlotIndex() { return slotIndex; }
+    public void setSlotIndex(Integer slotIndex) { this.slotIndex = slotIndex; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
@@ -1,13 +1,22 @@
 package com.Springboot_Project_Backend.springboot_project_backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "admins")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admins")
+@NaturalIdCache(region = "admins-by-email")
 public class Admin {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "admins_id")
+    @TableGenerator(name = "admins_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "admins", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
@@ -16,6 +25,7 @@ public class Admin {
     @Column(nullable = false)
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String email;
 
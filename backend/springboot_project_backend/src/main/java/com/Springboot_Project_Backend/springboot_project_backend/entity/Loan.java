@@ -7,10 +7,16 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+    // Admin listing: newest first, optionally by status (the pending queue), with id as the keyset tie-breaker
+    @Index(name = "idx_loans_created", columnList = "created_at, id"),
+    @Index(name = "idx_loans_status_created", columnList = "status, created_at, id")
+})
 public class Loan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "loans_id")
+    @TableGenerator(name = "loans_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "loans", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
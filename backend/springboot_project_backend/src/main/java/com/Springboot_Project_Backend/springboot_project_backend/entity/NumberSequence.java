@@ -0,0 +1,30 @@
+package com.Springboot_Project_Backend.springboot_project_backend.entity;
+
+import jakarta.persistence.*;
+
+// Next unreserved value of a business-number sequence (account numbers, loan numbers)
+@Entity
+@Table(name = "number_sequences")
+public class NumberSequence {
+    @Id
+    @Column(name = "sequence_name", length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    // Constructors
+    public NumberSequence() {}
+
+    public NumberSequence(String name, Long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+}
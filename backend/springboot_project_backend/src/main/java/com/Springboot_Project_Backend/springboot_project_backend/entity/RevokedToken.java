@@ -0,0 +1,62 @@
+package com.Springboot_Project_Backend.springboot_project_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A revoked token (by hash) or a revoked subject (every token issued to an email before revokedAt). Kept
+// until no token it covers can still be valid, so the revocation list survives restarts.
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "revoked_tokens_id")
+    @TableGenerator(name = "revoked_tokens_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "revoked_tokens", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RevocationType type;
+
+    // Token hash for TOKEN, email for SUBJECT; a subject revoked twice has two rows and the later one wins
+    @Column(name = "revocation_key", nullable = false, length = 320)
+    private String revocationKey;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public RevokedToken() {}
+
+    public RevokedToken(RevocationType type, String revocationKey, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        this.type = type;
+        this.revocationKey = revocationKey;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public RevocationType getType() { return type; }
+    public void setType(RevocationType type) { this.type = type; }
+
+    public String getRevocationKey() { return revocationKey; }
+    public void setRevocationKey(String revocationKey) { this.revocationKey = revocationKey; }
+
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(LocalDateTime revokedAt) { this.revokedAt = revokedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public enum RevocationType {
+        TOKEN, SUBJECT
+    }
+}
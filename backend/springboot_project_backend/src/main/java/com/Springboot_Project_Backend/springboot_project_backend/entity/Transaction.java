@@ -1,16 +1,24 @@
 package com.Springboot_Project_Backend.springboot_project_backend.entity;
 
+import com.Springboot_Project_Backend.springboot_project_backend.util.TransactionIds;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_account_date", columnList = "account_id, transaction_date, id"),
+    @Index(name = "idx_transactions_date", columnList = "transaction_date"),
+    // Suspicious transactions: the few rows above the amount threshold are found without a scan
+    @Index(name = "idx_transactions_amount", columnList = "amount")
+})
 public class Transaction {
+    // Ids are reserved from id_generators in pooled blocks; unlike IDENTITY this keeps JDBC insert batching on
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transactions_id")
+    @TableGenerator(name = "transactions_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "transactions", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -50,6 +58,11 @@ public class Transaction {
     @JsonIgnore
     private Account toAccount;
 
+    // Destination of a transfer whose credit leg is settled separately (no FK, so the debit leg locks only its own account)
+    @Column(name = "counterparty_account_id")
+    @JsonIgnore
+    private Long counterpartyAccountId;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -68,7 +81,7 @@ public class Transaction {
     @PrePersist
     public void generateTransactionId() {
         if (this.transactionId == null) {
-            this.transactionId = UUID.randomUUID().toString();
+            this.transactionId = TransactionIds.next();
         }
     }
 
@@ -152,6 +165,14 @@ public class Transaction {
         this.toAccount = toAccount;
     }
 
+    public Long getCounterpartyAccountId() {
+        return counterpartyAccountId;
+    }
+
+    public void setCounterpartyAccountId(Long counterpartyAccountId) {
+        this.counterpartyAccountId = counterpartyAccountId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
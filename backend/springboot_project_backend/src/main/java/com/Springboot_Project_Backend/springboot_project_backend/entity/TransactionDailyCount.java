@@ -0,0 +1,48 @@
+package com.Springboot_Project_Backend.springboot_project_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// One of N counter rows for a calendar day; the number of transactions dated that day is the sum of its rows
+@Entity
+@Table(name = "transaction_daily_counts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_transaction_daily_count", columnNames = {"transaction_day", "slot_index"})
+})
+public class TransactionDailyCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_daily_counts_id")
+    @TableGenerator(name = "transaction_daily_counts_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "transaction_daily_counts", allocationSize = 20)
+    private Long id;
+
+    @Column(name = "transaction_day", nullable = false)
+    private LocalDate transactionDay;
+
+    @Column(name = "slot_index", nullable = false)
+    private Integer slotIndex;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    // Constructors
+    public TransactionDailyCount() {}
+
+    public TransactionDailyCount(LocalDate transactionDay, Integer slotIndex, Long transactionCount) {
+        this.transactionDay = transactionDay;
+        this.slotIndex = slotIndex;
+        this.transactionCount = transactionCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getTransactionDay() { return transactionDay; }
+    public void setTransactionDay(LocalDate transactionDay) { this.transactionDay = transactionDay; }
+
+    public Integer getSlotIndex() { return slotIndex; }
+    public void setSlotIndex(Integer slotIndex) { this.slotIndex = slotIndex; }
+
+    public Long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(Long transactionCount) { this.transactionCount = transactionCount; }
+}
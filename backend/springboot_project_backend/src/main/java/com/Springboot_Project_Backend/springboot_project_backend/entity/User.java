@@ -1,24 +1,40 @@
 package com.Springboot_Project_Backend.springboot_project_backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Admin directory: one index per sort order, with id as the keyset tie-breaker
+    @Index(name = "idx_users_created", columnList = "created_at, id"),
+    @Index(name = "idx_users_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_users_last_name", columnList = "last_name, id"),
+    @Index(name = "idx_users_state_city", columnList = "state, city")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String firstName;
 
-    @Column(nullable = false)
+    @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -0,0 +1,9 @@
+package com.Springboot_Project_Backend.springboot_project_backend.exception;
+
+// Business rejection of a balance mutation (missing account, insufficient funds).
+// Thrown only when the mutation left no net effect, so it never forces a rollback.
+public class LedgerRejectedException extends RuntimeException {
+    public LedgerRejectedException(String message) {
+        super(message);
+    }
+}
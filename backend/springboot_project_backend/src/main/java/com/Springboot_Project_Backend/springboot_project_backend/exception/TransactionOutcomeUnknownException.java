@@ -0,0 +1,9 @@
+package com.Springboot_Project_Backend.springboot_project_backend.exception;
+
+// The caller stopped waiting for a submitted posting (timeout or interrupt) before it reported back.
+// The posting may still commit, so the request must not be treated as rejected.
+public class TransactionOutcomeUnknownException extends RuntimeException {
+    public TransactionOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.Springboot_Project_Backend.springboot_project_backend.exception;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+
+// The debit of a transfer committed but its credit could not be settled yet.
+// The PENDING debit row is retried in the background, so the request must not be repeated.
+public class TransferPendingException extends RuntimeException {
+    private final transient Transaction transaction;
+
+    public TransferPendingException(Transaction transaction) {
+        super("Transfer accepted; the credit is pending settlement");
+        this.transaction = transaction;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+}
@@ -0,0 +1,51 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.AccountBalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    @Query("SELECT s.slotIndex, s.balance FROM AccountBalanceSlot s WHERE s.account.id = :accountId")
+    List<Object[]> findBalancesByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.account.id = :accountId")
+    BigDecimal sumByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT s.account.id, SUM(s.balance) FROM AccountBalanceSlot s WHERE s.account.id IN :accountIds " +
+           "GROUP BY s.account.id")
+    List<Object[]> sumByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+
+    // Slots are always locked in slot order, after the owning account row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.account.id = :accountId ORDER BY s.slotIndex")
+    List<AccountBalanceSlot> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + :amount " +
+           "WHERE s.account.id = :accountId AND s.slotIndex = :slotIndex")
+    int credit(@Param("accountId") Long accountId, @Param("slotIndex") int slotIndex, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance - :amount " +
+           "WHERE s.account.id = :accountId AND s.slotIndex = :slotIndex AND s.balance >= :amount")
+    int debit(@Param("accountId") Long accountId, @Param("slotIndex") int slotIndex, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = 0 WHERE s.account.id = :accountId")
+    int clearByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AccountBalanceSlot s WHERE s.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -2,11 +2,16 @@ package com.Springboot_Project_Backend.springboot_project_backend.repository;
 
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +21,51 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserId(Long userId);
     Optional<Account> findByAccountNumber(String accountNumber);
     boolean existsByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.id FROM Account a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.id = :id")
+    Optional<String> findAccountNumberById(@Param("id") Long id);
+
+    // Rows of [id, accountNumber, owner user id]; at most one row
+    @Query("SELECT a.id, a.accountNumber, a.user.id FROM Account a WHERE a.id = :id")
+    List<Object[]> findDirectoryEntryById(@Param("id") Long id);
+
+    @Query("SELECT a.id, a.accountNumber, a.user.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    List<Object[]> findDirectoryEntryByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Rows of [accountNumber, id] for the numbers that exist
+    @Query("SELECT a.accountNumber, a.id FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<Object[]> findIdsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Balance mutations run as single conditional UPDATEs so concurrent writers cannot lose updates.
+    // Both return the number of rows changed: 0 means the account is missing or (for debits) underfunded.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = LOCAL DATETIME " +
+           "WHERE a.id = :id AND a.balance >= :amount")
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = LOCAL DATETIME " +
+           "WHERE a.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
     
-    @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balanceSlots = :slots WHERE a.id = :id")
+    int updateBalanceSlots(@Param("id") Long id, @Param("slots") Integer slots);
+
+    @Query("SELECT a.id, a.balanceSlots FROM Account a WHERE a.balanceSlots > 0")
+    List<Object[]> findSplitAccounts();
+
+    // Includes balances parked in hot-account slots
+    @Query("SELECT COALESCE(SUM(a.balance), 0) + (SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s) FROM Account a")
     BigDecimal getTotalBalance();
 }
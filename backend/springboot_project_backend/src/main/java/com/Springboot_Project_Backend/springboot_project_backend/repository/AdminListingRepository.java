@@ -0,0 +1,173 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminListingCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.ListingCursor;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.LoanSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Admin listings of accounts, loans and transactions as DTO projections with the owner joined in. The JPQL is
+// assembled from the fixed fragments of a Listing; only parameter values come from the caller. Rows are always
+// ordered by (date, id) descending, which keyset pages and the (status, date, id) indexes follow.
+@Repository
+public class AdminListingRepository {
+
+    public static final Listing<AccountSummary> ACCOUNTS = new Listing<>(AccountSummary.class,
+        "SELECT new " + AccountSummary.class.getName() + "(a.id, a.accountNumber, a.accountType, " + accountBalance()
+            + ", a.status, a.createdAt, u.id, u.firstName, u.lastName, u.email) FROM Account a JOIN a.user u",
+        "a", "a.createdAt", accountBalance(), Account.AccountStatus.values(), "a.accountType",
+        Account.AccountType.values(), AccountSummary::getCreatedAt, AccountSummary::getId);
+
+    public static final Listing<LoanSummary> LOANS = new Listing<>(LoanSummary.class,
+        "SELECT new " + LoanSummary.class.getName() + "(l.id, l.loanNumber, l.loanType, l.principalAmount, "
+            + "l.interestRate, l.termMonths, l.outstandingAmount, l.status, l.applicationDate, l.createdAt, "
+            + "u.id, u.firstName, u.lastName, u.email) FROM Loan l JOIN l.user u",
+        "l", "l.createdAt", "l.principalAmount", Loan.LoanStatus.values(), "l.loanType",
+        Loan.LoanType.values(), LoanSummary::getCreatedAt, LoanSummary::getId);
+
+    public static final Listing<TransactionSummary> TRANSACTIONS = new Listing<>(TransactionSummary.class,
+        "SELECT new " + TransactionSummary.class.getName() + "(t.id, t.transactionId, t.type, t.amount, "
+            + "t.description, t.transactionDate, t.status, t.referenceNumber, a.id, a.accountNumber, "
+            + "u.id, u.firstName, u.lastName, u.email) FROM Transaction t JOIN t.account a JOIN a.user u",
+        "t", "t.transactionDate", "t.amount", Transaction.TransactionStatus.values(), "t.type",
+        Transaction.TransactionType.values(), TransactionSummary::getTransactionDate, TransactionSummary::getId);
+
+    // Same default as the export streams: MySQL Connector/J streams rows one at a time at Integer.MIN_VALUE
+    @Value("${admin.listing.stream-fetch-size:-2147483648}")
+    private int streamFetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> List<T> findPage(Listing<T> listing, AdminListingCriteria criteria, ListingCursor after, int limit) {
+        return query(listing, criteria, after).setMaxResults(limit).getResultList();
+    }
+
+    // Every matching row, read lazily; must be consumed and closed inside a transaction
+    public <T> Stream<T> stream(Listing<T> listing, AdminListingCriteria criteria) {
+        return query(listing, criteria, null)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private <T> TypedQuery<T> query(Listing<T> listing, AdminListingCriteria criteria, ListingCursor after) {
+        String alias = listing.alias;
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.getStatus() != null) {
+            conditions.add(alias + ".status = :status");
+            parameters.put("status", constant(listing.statuses, criteria.getStatus(), "status"));
+        }
+        if (criteria.getType() != null) {
+            conditions.add(listing.typeProperty + " = :type");
+            parameters.put("type", constant(listing.types, criteria.getType(), "type"));
+        }
+        if (criteria.getMinAmount() != null) {
+            conditions.add(listing.amountExpression + " >= :minAmount");
+            parameters.put("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            conditions.add(listing.amountExpression + " <= :maxAmount");
+            parameters.put("maxAmount", criteria.getMaxAmount());
+        }
+        if (criteria.getFrom() != null) {
+            conditions.add(listing.dateProperty + " >= :from");
+            parameters.put("from", criteria.getFrom().atStartOfDay());
+        }
+        if (criteria.getTo() != null) {
+            conditions.add(listing.dateProperty + " < :before");
+            parameters.put("before", criteria.getTo().plusDays(1).atStartOfDay());
+        }
+        if (criteria.getOwnerId() != null) {
+            conditions.add("u.id = :ownerId");
+            parameters.put("ownerId", criteria.getOwnerId());
+        }
+        if (criteria.getOwnerEmail() != null) {
+            conditions.add("u.email = :ownerEmail");
+            parameters.put("ownerEmail", criteria.getOwnerEmail());
+        }
+        if (after != null) {
+            conditions.add("(" + listing.dateProperty + " < :afterDate OR (" + listing.dateProperty
+                + " = :afterDate AND " + alias + ".id < :afterId))");
+            parameters.put("afterDate", after.getDate());
+            parameters.put("afterId", after.getId());
+        }
+
+        StringBuilder jpql = new StringBuilder(listing.select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(listing.dateProperty).append(" DESC, ").append(alias).append(".id DESC");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), listing.type);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private static Enum<?> constant(Enum<?>[] constants, String name, String field) {
+        for (Enum<?> constant : constants) {
+            if (constant.name().equalsIgnoreCase(name.trim())) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Invalid " + field + ": " + name);
+    }
+
+    // Split accounts keep part of their balance in slot rows, as Account.getBalance adds up
+    private static String accountBalance() {
+        return "(a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceSlot s WHERE s.account = a), 0))";
+    }
+
+    public static final class Listing<T> {
+        private final Class<T> type;
+        private final String select;
+        private final String alias;
+        private final String dateProperty;
+        private final String amountExpression;
+        private final Enum<?>[] statuses;
+        private final String typeProperty;
+        private final Enum<?>[] types;
+        private final Function<T, LocalDateTime> dateOf;
+        private final Function<T, Long> idOf;
+
+        private Listing(Class<T> type, String select, String alias, String dateProperty, String amountExpression,
+                        Enum<?>[] statuses, String typeProperty, Enum<?>[] types,
+                        Function<T, LocalDateTime> dateOf, Function<T, Long> idOf) {
+            this.type = type;
+            this.select = select;
+            this.alias = alias;
+            this.dateProperty = dateProperty;
+            this.amountExpression = amountExpression;
+            this.statuses = statuses;
+            this.typeProperty = typeProperty;
+            this.types = types;
+            this.dateOf = dateOf;
+            this.idOf = idOf;
+        }
+
+        public Class<T> getType() { return type; }
+
+        // Where the next page starts after this row
+        public ListingCursor cursorAfter(T row) {
+            return new ListingCursor(dateOf.apply(row), idOf.apply(row));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Admin;
+
+import java.util.Optional;
+
+public interface AdminNaturalIdRepository {
+    // Resolved through the natural-id cache, so a repeated lookup does not query the database
+    Optional<Admin> findByEmail(String email);
+}
@@ -0,0 +1,22 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Admin;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class AdminNaturalIdRepositoryImpl implements AdminNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A transaction keeps the session open for the whole lookup when the caller has none
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Admin> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Admin.class).loadOptional(email);
+    }
+}
@@ -8,12 +8,9 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface AdminRepository extends JpaRepository<Admin, Long> {
-    
-    Optional<Admin> findByEmail(String email);
+public interface AdminRepository extends JpaRepository<Admin, Long>, AdminNaturalIdRepository {
     
     List<Admin> findByStatus(Admin.AdminStatus status);
     
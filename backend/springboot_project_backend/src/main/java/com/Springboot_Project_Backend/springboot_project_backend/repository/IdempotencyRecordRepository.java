@@ -0,0 +1,64 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByScopeKey(String scopeKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET " +
+           "r.status = com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord.RecordStatus.COMPLETED, " +
+           "r.responseStatus = :responseStatus, r.responseBody = :responseBody WHERE r.scopeKey = :scopeKey")
+    int complete(@Param("scopeKey") String scopeKey, @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody);
+
+    // The request may or may not have taken effect; the key stays taken until it expires
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET " +
+           "r.status = com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord.RecordStatus.UNKNOWN, " +
+           "r.responseStatus = :responseStatus, r.responseBody = :responseBody WHERE r.scopeKey = :scopeKey")
+    int markUnknown(@Param("scopeKey") String scopeKey, @Param("responseStatus") int responseStatus,
+                    @Param("responseBody") String responseBody);
+
+    // Same, but only for a claim whose owner stopped renewing its lease
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET " +
+           "r.status = com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord.RecordStatus.UNKNOWN, " +
+           "r.responseStatus = :responseStatus, r.responseBody = :responseBody WHERE r.scopeKey = :scopeKey " +
+           "AND r.status = com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord.RecordStatus.IN_PROGRESS " +
+           "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now)")
+    int markUnknownIfLeaseExpired(@Param("scopeKey") String scopeKey, @Param("responseStatus") int responseStatus,
+                                  @Param("responseBody") String responseBody, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.leaseExpiresAt = :until WHERE r.scopeKey IN :scopeKeys " +
+           "AND r.owner = :owner " +
+           "AND r.status = com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord.RecordStatus.IN_PROGRESS")
+    int renewLeases(@Param("scopeKeys") Collection<String> scopeKeys, @Param("owner") String owner,
+                    @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopeKey = :scopeKey")
+    int deleteByScopeKey(@Param("scopeKey") String scopeKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
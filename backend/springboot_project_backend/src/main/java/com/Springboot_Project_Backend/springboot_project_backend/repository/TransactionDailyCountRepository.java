@@ -0,0 +1,32 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.TransactionDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionDailyCountRepository extends JpaRepository<TransactionDailyCount, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE TransactionDailyCount c SET c.transactionCount = c.transactionCount + :count " +
+           "WHERE c.transactionDay = :day AND c.slotIndex = :slotIndex")
+    int increment(@Param("day") LocalDate day, @Param("slotIndex") int slotIndex, @Param("count") long count);
+
+    @Query("SELECT c.slotIndex FROM TransactionDailyCount c WHERE c.transactionDay = :day")
+    List<Integer> findSlotIndexesByDay(@Param("day") LocalDate day);
+
+    @Query("SELECT COALESCE(SUM(c.transactionCount), 0) FROM TransactionDailyCount c WHERE c.transactionDay = :day")
+    long sumByDay(@Param("day") LocalDate day);
+
+    // [day, total] for the days in the range that have counter rows, in date order
+    @Query("SELECT c.transactionDay, SUM(c.transactionCount) FROM TransactionDailyCount c " +
+           "WHERE c.transactionDay >= :from AND c.transactionDay <= :to " +
+           "GROUP BY c.transactionDay ORDER BY c.transactionDay")
+    List<Object[]> sumByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
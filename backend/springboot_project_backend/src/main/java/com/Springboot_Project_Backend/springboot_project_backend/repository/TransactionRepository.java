@@ -2,12 +2,20 @@ package com.Springboot_Project_Backend.springboot_project_backend.repository;
 
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -16,7 +24,62 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByAccountOrderByTransactionDateDesc(Account account);
     List<Transaction> findAllByOrderByTransactionDateDesc();
     List<Transaction> findByAccount_User_IdOrderByTransactionDateDesc(Long userId);
+
+    // Keyset pagination on (transactionDate, id), read in order from idx_transactions_account_date -
+    // pass PageRequest.of(0, size) as the limit. Per-user pages merge one such read per account.
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstPageByAccountId(@Param("accountId") Long accountId, Pageable limit);
+
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByAccountIdBefore(@Param("accountId") Long accountId, @Param("date") LocalDateTime date,
+                                                @Param("id") Long id, Pageable limit);
+
+    // Streaming exports - Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the result set.
+    // Callers must consume the stream inside a transaction and close it.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE a.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE a.id = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId);
     
-    @Query("SELECT COUNT(t) FROM Transaction t WHERE DATE(t.transactionDate) = ?1")
-    long countTransactionsToday(LocalDate date);
+    // Transfer debit legs whose credit leg has not been settled yet
+    @Query("SELECT t FROM Transaction t WHERE t.status = :status AND t.counterpartyAccountId IS NOT NULL " +
+           "AND t.transactionDate < :before ORDER BY t.id")
+    List<Transaction> findUnsettledTransfers(@Param("status") Transaction.TransactionStatus status,
+                                             @Param("before") LocalDateTime before);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :to WHERE t.id = :id AND t.status = :from")
+    int updateStatusIf(@Param("id") Long id, @Param("from") Transaction.TransactionStatus from,
+                       @Param("to") Transaction.TransactionStatus to);
+    
+    // A plain range on the column, so the transaction_date index applies
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.transactionDate >= :from AND t.transactionDate < :to")
+    long countByTransactionDateRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default long countTransactionsOn(LocalDate day) {
+        return countByTransactionDateRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    // [day, count] over the whole table; only for backfilling transaction_daily_counts
+    @Query("SELECT CAST(t.transactionDate AS LocalDate), COUNT(t) FROM Transaction t " +
+           "GROUP BY CAST(t.transactionDate AS LocalDate)")
+    List<Object[]> countPerDay();
+
+    @Query("SELECT CAST(t.transactionDate AS LocalDate), COUNT(t) FROM Transaction t WHERE t.account.user.id = :userId " +
+           "GROUP BY CAST(t.transactionDate AS LocalDate)")
+    List<Object[]> countPerDayByUserId(@Param("userId") Long userId);
 }
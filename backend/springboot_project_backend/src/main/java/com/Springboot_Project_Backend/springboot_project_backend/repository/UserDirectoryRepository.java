@@ -0,0 +1,11 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSearchCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSummary;
+
+import java.util.List;
+
+public interface UserDirectoryRepository {
+    // Up to `limit` directory rows in the criteria's order, after the (sort value, id) position when one is given
+    List<UserSummary> findUserSummaries(UserSearchCriteria criteria, Object afterValue, Long afterId, int limit);
+}
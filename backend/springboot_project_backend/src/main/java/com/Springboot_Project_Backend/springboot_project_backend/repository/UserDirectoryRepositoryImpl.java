@@ -0,0 +1,72 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSearchCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The filter set varies per request, so the JPQL is assembled from fixed fragments; only parameter values
+// come from the caller. Every filter is a plain equality or range on a column, and the order is
+// (sort property, id), so each combination can be served by the indexes on users.
+public class UserDirectoryRepositoryImpl implements UserDirectoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummary> findUserSummaries(UserSearchCriteria criteria, Object afterValue, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.getStatus() != null) {
+            conditions.add("u.status = :status");
+            parameters.put("status", criteria.getStatus());
+        }
+        if (criteria.getState() != null) {
+            conditions.add("u.state = :state");
+            parameters.put("state", criteria.getState());
+        }
+        if (criteria.getCity() != null) {
+            conditions.add("u.city = :city");
+            parameters.put("city", criteria.getCity());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("u.createdAt >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom().atStartOfDay());
+        }
+        if (criteria.getCreatedTo() != null) {
+            // The whole of the last day is included
+            conditions.add("u.createdAt < :createdBefore");
+            parameters.put("createdBefore", criteria.getCreatedTo().plusDays(1).atStartOfDay());
+        }
+
+        String property = "u." + criteria.getSort().getProperty();
+        String direction = criteria.isDescending() ? "DESC" : "ASC";
+        if (afterValue != null) {
+            String comparison = criteria.isDescending() ? " < " : " > ";
+            conditions.add("(" + property + comparison + ":afterValue OR (" + property + " = :afterValue AND u.id"
+                + comparison + ":afterId))");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT new ")
+            .append(UserSummary.class.getName())
+            .append("(u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.city, u.state, u.status, u.createdAt)")
+            .append(" FROM User u");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(property).append(' ').append(direction)
+            .append(", u.id ").append(direction);
+
+        TypedQuery<UserSummary> query = entityManager.createQuery(jpql.toString(), UserSummary.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+    // Resolved through the natural-id cache, so a repeated lookup does not query the database
+    Optional<User> findByEmail(String email);
+}
@@ -3,15 +3,21 @@ package com.Springboot_Project_Backend.springboot_project_backend.repository;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository, UserDirectoryRepository {
     boolean existsByEmail(String email);
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.status = ?1")
     long countByStatus(User.UserStatus status);
+
+    // [userId, accounts, loans] for a page of users in one statement
+    @Query("SELECT u.id, (SELECT COUNT(a) FROM Account a WHERE a.user = u), " +
+           "(SELECT COUNT(l) FROM Loan l WHERE l.user = u) FROM User u WHERE u.id IN :ids")
+    List<Object[]> countAccountsAndLoansByUserIds(@Param("ids") Collection<Long> ids);
 }
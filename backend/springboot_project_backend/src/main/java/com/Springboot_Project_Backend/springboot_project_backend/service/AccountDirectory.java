@@ -0,0 +1,121 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.util.LongKeyMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory directory of account number <-> id <-> owning user, for ownership checks and number resolution.
+// An account's number and owner never change, but the account can be deleted with its user. Entries are
+// loaded on first use, added when an account is opened and dropped once a user delete here commits; a
+// delete on another instance is picked up when the entry's TTL runs out and it is read again. Misses are
+// not remembered, so an account opened on another instance is found on its first lookup here.
+@Service
+public class AccountDirectory {
+
+    @Value("${accounts.directory.max-entries:1000000}")
+    private int maxEntries;
+
+    @Value("${accounts.directory.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final LongKeyMap<Entry> byId = new LongKeyMap<>();
+    private final Map<String, Entry> byNumber = new ConcurrentHashMap<>();
+
+    public boolean isOwnedBy(Long accountId, Long userId) {
+        Entry entry = findById(accountId);
+        return entry != null && userId != null && entry.ownerUserId == userId;
+    }
+
+    public Optional<Long> findIdByNumber(String accountNumber) {
+        Entry entry = byNumber.get(accountNumber);
+        if (entry == null || isStale(entry)) {
+            entry = load(accountRepository.findDirectoryEntryByAccountNumber(accountNumber), entry);
+        }
+        return entry == null ? Optional.empty() : Optional.of(entry.accountId);
+    }
+
+    public Optional<String> findNumberById(Long accountId) {
+        Entry entry = findById(accountId);
+        return entry == null ? Optional.empty() : Optional.of(entry.accountNumber);
+    }
+
+    public void register(Account account) {
+        add(new Entry(account.getId(), account.getAccountNumber(), account.getUser().getId(),
+            System.currentTimeMillis()));
+    }
+
+    // Forgets every account of a deleted user
+    public void removeOwner(Long userId) {
+        long owner = userId;
+        byId.removeIf(entry -> entry.ownerUserId == owner);
+        byNumber.values().removeIf(entry -> entry.ownerUserId == owner);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private Entry findById(Long accountId) {
+        if (accountId == null || accountId <= 0) {
+            return null;
+        }
+        Entry entry = byId.get(accountId);
+        if (entry == null || isStale(entry)) {
+            entry = load(accountRepository.findDirectoryEntryById(accountId), entry);
+        }
+        return entry;
+    }
+
+    private boolean isStale(Entry entry) {
+        return System.currentTimeMillis() - entry.loadedAtMillis > ttlMs;
+    }
+
+    // Replaces a stale entry with the current row, or drops it when the account is gone
+    private Entry load(List<Object[]> rows, Entry stale) {
+        if (stale != null) {
+            byId.remove(stale.accountId);
+            byNumber.remove(stale.accountNumber, stale);
+        }
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        Entry entry = new Entry((Long) row[0], (String) row[1], (Long) row[2], System.currentTimeMillis());
+        add(entry);
+        return entry;
+    }
+
+    // Past the bound, lookups still work but go to the database
+    private void add(Entry entry) {
+        if (byId.size() >= maxEntries) {
+            return;
+        }
+        byId.put(entry.accountId, entry);
+        byNumber.put(entry.accountNumber, entry);
+    }
+
+    private static final class Entry {
+        private final long accountId;
+        private final String accountNumber;
+        private final long ownerUserId;
+        private final long loadedAtMillis;
+
+        private Entry(long accountId, String accountNumber, long ownerUserId, long loadedAtMillis) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.ownerUserId = ownerUserId;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
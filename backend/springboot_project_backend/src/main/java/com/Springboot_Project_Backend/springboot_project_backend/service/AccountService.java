@@ -1,17 +1,18 @@
 package com.Springboot_Project_Backend.springboot_project_backend.service;
 
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSnapshot;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 public class AccountService {
@@ -22,16 +23,46 @@ public class AccountService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NumberAllocator numberAllocator;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     public List<Account> getAccountsByUserId(Long userId) {
         return accountRepository.findByUserId(userId);
     }
 
+    // Cached reads for the customer account endpoints
+    public List<AccountSnapshot> getAccountSnapshotsByUserId(Long userId) {
+        return balanceCache.getAccountsByUserId(userId);
+    }
+
+    public AccountSnapshot getAccountSnapshot(Long accountId) {
+        return balanceCache.getAccount(accountId)
+            .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    public AccountSnapshot getAccountSnapshotByNumber(String accountNumber) {
+        return balanceCache.getAccountByNumber(accountNumber)
+            .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
     public Account getAccountByNumber(String accountNumber) {
-        Optional<Account> accountOpt = accountRepository.findByAccountNumber(accountNumber);
-        if (accountOpt.isEmpty()) {
+        Optional<Long> accountIdOpt = accountDirectory.findIdByNumber(accountNumber);
+        if (accountIdOpt.isEmpty()) {
             throw new RuntimeException("Account not found");
         }
-        return accountOpt.get();
+        return getAccountById(accountIdOpt.get());
     }
 
     public Account createAccount(Long userId, String accountType, BigDecimal initialDeposit) {
@@ -44,21 +75,16 @@ public class AccountService {
         
         Account account = new Account();
         account.setUser(user);
-        account.setAccountNumber(generateAccountNumber());
+        account.setAccountNumber(numberAllocator.nextAccountNumber());
         account.setAccountType(Account.AccountType.valueOf(accountType.toUpperCase()));
         account.setBalance(initialDeposit);
         account.setCreatedAt(LocalDateTime.now());
 
-        return accountRepository.save(account);
-    }
-
-    private String generateAccountNumber() {
-        String accountNumber;
-        do {
-            accountNumber = "ACC" + String.format("%010d", new Random().nextInt(1000000000));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        
-        return accountNumber;
+        Account saved = accountRepository.save(account);
+        accountDirectory.register(saved);
+        balanceCache.evictUserAccounts(userId);
+        dashboardStatsService.accountOpened(saved.getBalance());
+        return saved;
     }
 
     public Account getAccountById(Long accountId) {
@@ -69,9 +95,20 @@ public class AccountService {
         return accountOpt.get();
     }
 
+    @Transactional
     public Account updateBalance(String accountNumber, BigDecimal newBalance) {
         Account account = getAccountByNumber(accountNumber);
+        // The new balance replaces whatever is parked in the slots, even if this node has not seen the split yet
+        balanceSlotService.clearSlots(account.getId());
         account.setBalance(newBalance);
+        balanceCache.evictAfterCommit(account.getId());
+        // The overwritten amount may sit partly in slots; recount rather than work out the difference
+        dashboardStatsService.reconcileAfterCommit();
         return accountRepository.save(account);
     }
+
+    public void setBalanceSlots(Long accountId, int slots) {
+        balanceSlotService.enableSplitting(accountId, slots);
+        balanceCache.evict(accountId);
+    }
 }
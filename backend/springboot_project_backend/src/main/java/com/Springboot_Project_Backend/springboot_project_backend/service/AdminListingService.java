@@ -0,0 +1,187 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminListingCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.ListingCursor;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.ListingPage;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.LoanSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AdminListingRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Admin browsing of accounts, loans and transactions: keyset pages for the UI, or every matching row streamed
+// as NDJSON or CSV while it is read, so neither mode holds more than a page in memory
+@Service
+public class AdminListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Transactions at or above this amount are listed as suspicious
+    @Value("${admin.suspicious.amount-threshold:100000}")
+    private BigDecimal suspiciousAmountThreshold;
+
+    @Autowired
+    private AdminListingRepository adminListingRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Reads rows back as maps for CSV without turning amounts into doubles
+    private ObjectMapper rowMapper;
+
+    @PostConstruct
+    public void init() {
+        rowMapper = objectMapper.copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    @Transactional(readOnly = true)
+    public ListingPage<AccountSummary> listAccounts(AdminListingCriteria criteria, String cursor, Integer limit) {
+        return page(AdminListingRepository.ACCOUNTS, criteria, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ListingPage<LoanSummary> listLoans(AdminListingCriteria criteria, String cursor, Integer limit) {
+        return page(AdminListingRepository.LOANS, criteria, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ListingPage<TransactionSummary> listTransactions(AdminListingCriteria criteria, String cursor, Integer limit) {
+        return page(AdminListingRepository.TRANSACTIONS, criteria, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ListingPage<TransactionSummary> listSuspiciousTransactions(AdminListingCriteria criteria, String cursor,
+                                                                      Integer limit) {
+        return page(AdminListingRepository.TRANSACTIONS, suspicious(criteria), cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAccounts(AdminListingCriteria criteria, TransactionExportService.ExportFormat format,
+                               OutputStream out) throws IOException {
+        export(AdminListingRepository.ACCOUNTS, criteria, format, out);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLoans(AdminListingCriteria criteria, TransactionExportService.ExportFormat format,
+                            OutputStream out) throws IOException {
+        export(AdminListingRepository.LOANS, criteria, format, out);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTransactions(AdminListingCriteria criteria, TransactionExportService.ExportFormat format,
+                                   OutputStream out) throws IOException {
+        export(AdminListingRepository.TRANSACTIONS, criteria, format, out);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportSuspiciousTransactions(AdminListingCriteria criteria, TransactionExportService.ExportFormat format,
+                                             OutputStream out) throws IOException {
+        export(AdminListingRepository.TRANSACTIONS, suspicious(criteria), format, out);
+    }
+
+    private <T> ListingPage<T> page(AdminListingRepository.Listing<T> listing, AdminListingCriteria criteria,
+                                    String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        ListingCursor after = cursor != null ? ListingCursor.decode(cursor) : null;
+        List<T> rows = adminListingRepository.findPage(listing, criteria, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<T> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? listing.cursorAfter(page.get(page.size() - 1)).encode() : null;
+        return new ListingPage<>(page, nextCursor, hasMore);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // The threshold is a floor on top of whatever the caller filtered on
+    private AdminListingCriteria suspicious(AdminListingCriteria criteria) {
+        if (criteria.getMinAmount() == null || criteria.getMinAmount().compareTo(suspiciousAmountThreshold) < 0) {
+            criteria.setMinAmount(suspiciousAmountThreshold);
+        }
+        return criteria;
+    }
+
+    private <T> void export(AdminListingRepository.Listing<T> listing, AdminListingCriteria criteria,
+                            TransactionExportService.ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(listing.getType());
+        List<String> columns = null;
+        if (format == TransactionExportService.ExportFormat.CSV) {
+            columns = new ArrayList<>(properties(newInstance(listing.getType())).keySet());
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+
+        // Projections are not managed entities, so the persistence context stays empty however many rows pass
+        try (Stream<T> rows = adminListingRepository.stream(listing, criteria)) {
+            Iterable<T> iterable = rows::iterator;
+            for (T row : iterable) {
+                if (columns != null) {
+                    Map<String, Object> values = properties(row);
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(csvValue(values.get(columns.get(i))));
+                    }
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // The row's JSON properties in declaration order, so CSV columns match the NDJSON and page fields
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> properties(Object row) {
+        return rowMapper.convertValue(row, LinkedHashMap.class);
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return TransactionExportService.csv(String.valueOf(value));
+    }
+
+    private <T> T newInstance(Class<T> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Listing row type needs a no-argument constructor: " + type.getName(), e);
+        }
+    }
+}
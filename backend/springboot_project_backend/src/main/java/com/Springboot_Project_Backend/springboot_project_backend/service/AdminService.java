@@ -3,27 +3,42 @@ package com.Springboot_Project_Backend.springboot_project_backend.service;
 import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminDashboardStats;
 import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminLoginRequest;
 import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminResponse;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserCursor;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserPage;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSearchCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSummary;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Admin;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
-import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
 import com.Springboot_Project_Backend.springboot_project_backend.exception.ResourceNotFoundException;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AdminService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
+
+    public static final int USER_PAGE_SIZE = 50;
+    public static final int MAX_USER_PAGE_SIZE = 200;
+
     @Autowired
     private AdminRepository adminRepository;
 
@@ -34,15 +49,35 @@ public class AdminService {
     private AccountRepository accountRepository;
 
     @Autowired
-    private LoanRepository loanRepository;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private TokenRevocationService tokenRevocationService;
 
-    public AdminResponse authenticateAdmin(AdminLoginRequest loginRequest) {
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    // Verification runs on the password-hashing pool; the last login time (and an upgraded hash, when the
+    // stored one is below the current BCrypt strength) is written once it matches
+    public CompletableFuture<AdminResponse> authenticateAdmin(AdminLoginRequest loginRequest) {
         Optional<Admin> adminOpt = adminRepository.findByEmail(loginRequest.getEmail());
         
         if (adminOpt.isEmpty()) {
@@ -55,119 +90,30 @@ public class AdminService {
             throw new RuntimeException("Admin account is not active");
         }
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), admin.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
-        }
-        
-        // Update last login
-        admin.setLastLogin(LocalDateTime.now());
-        adminRepository.save(admin);
-        
-        return new AdminResponse(admin);
+        String verifiedHash = admin.getPassword();
+        return passwordHashingService.verify(loginRequest.getPassword(), verifiedHash).thenApply(verification -> {
+            if (!verification.isMatched()) {
+                throw new RuntimeException("Invalid credentials");
+            }
+            
+            // Update last login
+            Admin updatedAdmin = transactionTemplate.execute(status -> {
+                Admin current = adminRepository.findById(admin.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Admin not found with id: " + admin.getId()));
+                current.setLastLogin(LocalDateTime.now());
+                // Skipped if the password changed since it was verified
+                if (verification.getUpgradedHash() != null && verifiedHash.equals(current.getPassword())) {
+                    current.setPassword(verification.getUpgradedHash());
+                }
+                return adminRepository.save(current);
+            });
+            return new AdminResponse(updatedAdmin);
+        });
     }
 
+    // Served from the in-memory figures kept by DashboardStatsService; no query runs per request
     public AdminDashboardStats getDashboardStats() {
-        try {
-            System.out.println("AdminService: Starting getDashboardStats...");
-            
-            // Initialize all variables with default values
-            long totalUsers = 0;
-            long activeUsers = 0;
-            long suspendedUsers = 0;
-            long totalAccounts = 0;
-            long totalLoans = 0;
-            long pendingLoans = 0;
-            BigDecimal totalDeposits = BigDecimal.ZERO;
-            BigDecimal totalLoanAmount = BigDecimal.ZERO;
-            long totalTransactions = 0;
-            long todayTransactions = 0;
-            
-            System.out.println("AdminService: Counting users...");
-            try {
-                totalUsers = userRepository.count();
-                activeUsers = userRepository.countByStatus(User.UserStatus.ACTIVE);
-                suspendedUsers = userRepository.countByStatus(User.UserStatus.SUSPENDED);
-                System.out.println("AdminService: Users - Total: " + totalUsers + ", Active: " + activeUsers + ", Suspended: " + suspendedUsers);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting users: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Counting accounts...");
-            try {
-                totalAccounts = accountRepository.count();
-                System.out.println("AdminService: Total accounts: " + totalAccounts);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting accounts: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Counting loans...");
-            try {
-                totalLoans = loanRepository.count();
-                System.out.println("AdminService: Total loans: " + totalLoans);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting loans: " + e.getMessage());
-            }
-            
-            // Use enum instead of string for loan status
-            System.out.println("AdminService: Counting pending loans...");
-            try {
-                pendingLoans = loanRepository.countByStatus(Loan.LoanStatus.PENDING);
-                System.out.println("AdminService: Pending loans: " + pendingLoans);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting pending loans: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Getting total deposits...");
-            try {
-                BigDecimal deposits = accountRepository.getTotalBalance();
-                totalDeposits = deposits != null ? deposits : BigDecimal.ZERO;
-                System.out.println("AdminService: Total deposits: " + totalDeposits);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error getting total deposits: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Getting total loan amount...");
-            try {
-                BigDecimal loanAmount = loanRepository.getTotalLoanAmount();
-                totalLoanAmount = loanAmount != null ? loanAmount : BigDecimal.ZERO;
-                System.out.println("AdminService: Total loan amount: " + totalLoanAmount);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error getting total loan amount: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Counting transactions...");
-            try {
-                totalTransactions = transactionRepository.count();
-                System.out.println("AdminService: Total transactions: " + totalTransactions);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting transactions: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Counting today's transactions...");
-            try {
-                todayTransactions = transactionRepository.countTransactionsToday(LocalDate.now());
-                System.out.println("AdminService: Today's transactions: " + todayTransactions);
-            } catch (Exception e) {
-                System.err.println("AdminService: Error counting today's transactions: " + e.getMessage());
-            }
-            
-            System.out.println("AdminService: Creating AdminDashboardStats object...");
-            AdminDashboardStats stats = new AdminDashboardStats(
-                totalUsers, activeUsers, suspendedUsers,
-                totalAccounts, totalLoans, pendingLoans,
-                totalDeposits != null ? totalDeposits : BigDecimal.ZERO,
-                totalLoanAmount != null ? totalLoanAmount : BigDecimal.ZERO,
-                totalTransactions, todayTransactions
-            );
-            
-            System.out.println("AdminService: Successfully created dashboard stats");
-            return stats;
-            
-        } catch (Exception e) {
-            System.err.println("AdminService: Error in getDashboardStats: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
+        return dashboardStatsService.getStats();
     }
 
     public List<AdminResponse> getAllAdmins() {
@@ -187,7 +133,7 @@ public class AdminService {
             throw new RuntimeException("Admin already exists with email: " + admin.getEmail());
         }
         
-        admin.setPassword(passwordEncoder.encode(admin.getPassword()));
+        admin.setPassword(passwordHashingService.hashAndWait(admin.getPassword()));
         Admin savedAdmin = adminRepository.save(admin);
         return new AdminResponse(savedAdmin);
     }
@@ -196,6 +142,7 @@ public class AdminService {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found with id: " + id));
 
+        String previousEmail = admin.getEmail();
         admin.setFirstName(adminDetails.getFirstName());
         admin.setLastName(adminDetails.getLastName());
         admin.setEmail(adminDetails.getEmail());
@@ -204,10 +151,18 @@ public class AdminService {
         admin.setStatus(adminDetails.getStatus());
 
         if (adminDetails.getPassword() != null && !adminDetails.getPassword().isEmpty()) {
-            admin.setPassword(passwordEncoder.encode(adminDetails.getPassword()));
+            admin.setPassword(passwordHashingService.hashAndWait(adminDetails.getPassword()));
         }
 
         Admin updatedAdmin = adminRepository.save(admin);
+        String email = updatedAdmin.getEmail();
+        afterCommit(() -> {
+            principalCache.invalidate(previousEmail);
+            principalCache.invalidate(email);
+        });
+        if (updatedAdmin.getStatus() != Admin.AdminStatus.ACTIVE) {
+            tokenRevocationService.revokeSubject(PrincipalCache.Realm.ADMIN, email);
+        }
         return new AdminResponse(updatedAdmin);
     }
 
@@ -215,6 +170,8 @@ public class AdminService {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found with id: " + id));
         adminRepository.delete(admin);
+        afterCommit(() -> principalCache.invalidate(admin.getEmail()));
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.ADMIN, admin.getEmail());
     }
 
     public AdminResponse updateAdminStatus(Long id, Admin.AdminStatus status) {
@@ -223,24 +180,133 @@ public class AdminService {
         
         admin.setStatus(status);
         Admin updatedAdmin = adminRepository.save(admin);
+        afterCommit(() -> principalCache.invalidate(updatedAdmin.getEmail()));
+        if (status != Admin.AdminStatus.ACTIVE) {
+            tokenRevocationService.revokeSubject(PrincipalCache.Realm.ADMIN, updatedAdmin.getEmail());
+        }
         return new AdminResponse(updatedAdmin);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Admin directory, one keyset page at a time: the rows are a projection, and the account and loan counts
+    // for the whole page come from a single aggregate query
+    @Transactional(readOnly = true)
+    public UserPage searchUsers(UserSearchCriteria criteria, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null) {
+            UserCursor after = UserCursor.decode(cursor);
+            if (!after.getOrderKey().equals(criteria.orderKey())) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            afterValue = parseSortValue(criteria.getSort(), after.getValue());
+            afterId = after.getId();
+        }
+        List<UserSummary> rows = userRepository.findUserSummaries(criteria, afterValue, afterId, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<UserSummary> page = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        if (!page.isEmpty()) {
+            Map<Long, UserSummary> byId = new HashMap<>();
+            page.forEach(summary -> byId.put(summary.getId(), summary));
+            for (Object[] row : userRepository.countAccountsAndLoansByUserIds(byId.keySet())) {
+                UserSummary summary = byId.get((Long) row[0]);
+                summary.setAccountCount(((Number) row[1]).longValue());
+                summary.setLoanCount(((Number) row[2]).longValue());
+            }
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            UserSummary last = page.get(page.size() - 1);
+            nextCursor = new UserCursor(criteria.orderKey(), sortValue(criteria.getSort(), last), last.getId()).encode();
+        }
+        return new UserPage(page, nextCursor, hasMore);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return USER_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_USER_PAGE_SIZE);
+    }
+
+    private String sortValue(UserSearchCriteria.SortField sort, UserSummary summary) {
+        switch (sort) {
+            case LAST_NAME:
+                return summary.getLastName();
+            case EMAIL:
+                return summary.getEmail();
+            default:
+                return summary.getCreatedAt().toString();
+        }
+    }
+
+    private Object parseSortValue(UserSearchCriteria.SortField sort, String value) {
+        if (sort != UserSearchCriteria.SortField.CREATED_AT) {
+            return value;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     public User updateUserStatus(Long userId, User.UserStatus status) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
+        User.UserStatus previousStatus = user.getStatus();
         user.setStatus(status);
-        return userRepository.save(user);
+        User updatedUser = userRepository.save(user);
+        dashboardStatsService.userStatusChanged(previousStatus, status);
+        // Invalidated only once the new status is visible, or a concurrent load could cache the old one
+        afterCommit(() -> principalCache.invalidate(updatedUser.getEmail()));
+        if (status == User.UserStatus.SUSPENDED) {
+            tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, updatedUser.getEmail());
+        }
+        return updatedUser;
+    }
+
+    // Kill switch: every token issued to the user so far stops working; the user can sign in again
+    public void revokeUserTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, user.getEmail());
     }
 
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        List<Long> accountIds = accountRepository.findIdsByUserId(userId);
+        List<Object[]> transactionsPerDay = transactionRepository.countPerDayByUserId(userId);
         userRepository.delete(user);
+        transactionDailyCounter.removed(transactionsPerDay);
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, user.getEmail());
+        // The user's accounts were deleted with it; a read racing an earlier eviction could cache them again
+        afterCommit(() -> {
+            principalCache.invalidate(user.getEmail());
+            accountDirectory.removeOwner(userId);
+            accountIds.forEach(balanceCache::evict);
+            balanceCache.evictUserAccounts(userId);
+        });
+        // Accounts, loans and transactions went with the user
+        dashboardStatsService.reconcileAfterCommit();
+    }
+
+    // Runs once the surrounding transaction commits, or at once when there is none
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
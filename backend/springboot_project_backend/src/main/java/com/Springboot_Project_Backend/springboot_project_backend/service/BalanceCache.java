@@ -0,0 +1,205 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSnapshot;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountBalanceSlotRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read-through cache of account snapshots for balance and account-list reads. Every committed balance
+// change evicts the accounts it touched (LedgerPostingService registers them with evictAfterCommit).
+// A read that started before such an eviction does not store what it loaded, so a slow reader cannot put
+// a pre-commit balance back into the cache.
+@Service
+public class BalanceCache {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    @Autowired
+    private CacheManager jcacheManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    private Cache<Long, AccountSnapshot> balances;
+    private Cache<Long, ArrayList> userAccounts;
+
+    // Bumped on every eviction of an account id hashing to the stripe
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        balances = jcacheManager.getCache("balances", Long.class, AccountSnapshot.class);
+        userAccounts = jcacheManager.getCache("userAccounts", Long.class, ArrayList.class);
+    }
+
+    public Optional<AccountSnapshot> getAccount(Long accountId) {
+        AccountSnapshot cached = balances.get(accountId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long generation = generationOf(accountId);
+        Optional<AccountSnapshot> loaded = accountRepository.findById(accountId).map(account -> {
+            // Only split accounts have slot money to add to the row
+            if (account.getBalanceSlots() != null) {
+                account.setSlotBalance(slotRepository.sumByAccountId(accountId));
+            }
+            return new AccountSnapshot(account);
+        });
+        loaded.ifPresent(snapshot -> store(snapshot, generation));
+        return loaded;
+    }
+
+    public Optional<AccountSnapshot> getAccountByNumber(String accountNumber) {
+        Optional<Long> accountId = accountDirectory.findIdByNumber(accountNumber);
+        return accountId.isEmpty() ? Optional.empty() : getAccount(accountId.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<AccountSnapshot> getAccountsByUserId(Long userId) {
+        List<Long> accountIds = userAccounts.get(userId);
+        if (accountIds == null) {
+            accountIds = new ArrayList<>(accountRepository.findIdsByUserId(userId));
+            userAccounts.put(userId, (ArrayList<Long>) accountIds);
+        }
+
+        Map<Long, AccountSnapshot> found = new LinkedHashMap<>();
+        Map<Long, Long> missing = new HashMap<>();
+        for (Long accountId : accountIds) {
+            AccountSnapshot cached = balances.get(accountId);
+            if (cached != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                missing.put(accountId, generationOf(accountId));
+            }
+            found.put(accountId, cached);
+        }
+        if (!missing.isEmpty()) {
+            List<Account> loaded = accountRepository.findAllById(missing.keySet());
+            addSlotBalances(loaded);
+            for (Account account : loaded) {
+                AccountSnapshot snapshot = new AccountSnapshot(account);
+                found.put(account.getId(), snapshot);
+                store(snapshot, missing.get(account.getId()));
+            }
+        }
+
+        List<AccountSnapshot> accounts = new ArrayList<>(found.size());
+        for (AccountSnapshot snapshot : found.values()) {
+            if (snapshot != null) {
+                accounts.add(snapshot);
+            }
+        }
+        return accounts;
+    }
+
+    // One grouped query for whichever of the accounts are split
+    private void addSlotBalances(List<Account> accounts) {
+        Map<Long, Account> split = new HashMap<>();
+        for (Account account : accounts) {
+            if (account.getBalanceSlots() != null) {
+                split.put(account.getId(), account);
+            }
+        }
+        if (split.isEmpty()) {
+            return;
+        }
+        for (Object[] row : slotRepository.sumByAccountIds(split.keySet())) {
+            split.get((Long) row[0]).setSlotBalance((BigDecimal) row[1]);
+        }
+    }
+
+    // Evicts once the surrounding transaction commits, or at once when there is none
+    @SuppressWarnings("unchecked")
+    public void evictAfterCommit(Long accountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(accountId);
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> accountIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, accountIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BalanceCache.this);
+                    // A rolled-back transaction changed nothing; an unknown outcome may have
+                    if (status != STATUS_ROLLED_BACK) {
+                        accountIds.forEach(BalanceCache.this::evict);
+                    }
+                }
+            });
+            pending = accountIds;
+        }
+        pending.add(accountId);
+    }
+
+    public void evict(Long accountId) {
+        generations.incrementAndGet(stripe(accountId));
+        balances.remove(accountId);
+        evictions.increment();
+    }
+
+    public void evictUserAccounts(Long userId) {
+        userAccounts.remove(userId);
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        statistics.put("evictions", evictions.sum());
+        return statistics;
+    }
+
+    private void store(AccountSnapshot snapshot, long generation) {
+        balances.put(snapshot.getId(), snapshot);
+        // An eviction raced with the load; drop what may be a pre-commit value
+        if (generationOf(snapshot.getId()) != generation) {
+            balances.remove(snapshot.getId());
+        }
+    }
+
+    private long generationOf(Long accountId) {
+        return generations.get(stripe(accountId));
+    }
+
+    private int stripe(Long accountId) {
+        return (int) Math.floorMod(accountId ^ (accountId >>> 32), (long) GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,177 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.AccountBalanceSlot;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.LedgerRejectedException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.ResourceNotFoundException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.ValidationException;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountBalanceSlotRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Hot-account balance splitting. A flagged account keeps part of its balance in N slot rows so concurrent
+// credits and debits hit different rows instead of serializing on the account row. Credits go to a random
+// slot; debits take a funded slot under that slot's row lock alone, so both scale with the slot count. Only
+// when no slot covers the amount does a debit fall back to the account row and then a sweep of all slots
+// into it. A scheduled job folds the slots back into the account row.
+// Folds, sweeps and clears lock the account row, then the slots in slot order. The one exception is a
+// debit whose slot was drained between the read and the update: it may still hold that slot when it falls
+// back to the account row. That race can only deadlock against a concurrent fold, which the database
+// breaks by rolling one of them back; consolidate() just tries again on its next run.
+@Service
+public class BalanceSlotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSlotService.class);
+
+    @Value("${accounts.balance-slots.max:64}")
+    private int maxSlots;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // accountId -> slot count for every split account. Per node and refreshed by consolidate(), so it only
+    // routes writes; anything that must see every slot (debit fallback, clearing) goes by query.
+    private final Map<Long, Integer> splitAccounts = new ConcurrentHashMap<>();
+
+    public boolean isSplit(Long accountId) {
+        return splitAccounts.containsKey(accountId);
+    }
+
+    // Expects a surrounding transaction
+    public void credit(Long accountId, BigDecimal amount) {
+        Integer slots = splitAccounts.get(accountId);
+        int slot = slots == null ? -1 : ThreadLocalRandom.current().nextInt(slots);
+        if ((slot < 0 || slotRepository.credit(accountId, slot, amount) == 0)
+                && accountRepository.credit(accountId, amount) == 0) {
+            throw new LedgerRejectedException("Account not found");
+        }
+    }
+
+    // Expects a surrounding transaction
+    public void debit(Long accountId, BigDecimal amount) {
+        // Non-locking read to pick a slot that can cover the amount
+        List<Integer> funded = new ArrayList<>();
+        for (Object[] row : slotRepository.findBalancesByAccountId(accountId)) {
+            if (((BigDecimal) row[1]).compareTo(amount) >= 0) {
+                funded.add((Integer) row[0]);
+            }
+        }
+        if (!funded.isEmpty()) {
+            int slot = funded.get(ThreadLocalRandom.current().nextInt(funded.size()));
+            if (slotRepository.debit(accountId, slot, amount) == 1) {
+                return;
+            }
+        }
+        // Not covered by any single slot: the account row, then the sweep, which also reports a missing account
+        if (accountRepository.debit(accountId, amount) == 1) {
+            return;
+        }
+        foldAndDebit(accountId, amount);
+    }
+
+    // Fallback sweep: folds every slot into the account row, then retries against the total.
+    // Also used for accounts this node does not know are split. Expects a surrounding transaction.
+    public void foldAndDebit(Long accountId, BigDecimal amount) {
+        if (fold(accountId) == null) {
+            throw new LedgerRejectedException("Account not found");
+        }
+        if (accountRepository.debit(accountId, amount) == 0) {
+            throw new LedgerRejectedException("Insufficient funds");
+        }
+    }
+
+    @Transactional
+    public void enableSplitting(Long accountId, int slots) {
+        if (slots < 0 || slots > maxSlots) {
+            throw new ValidationException("slots must be between 0 and " + maxSlots);
+        }
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+
+        // Stop routing to the old slots before folding them away
+        splitAccounts.remove(accountId);
+        fold(accountId);
+        slotRepository.deleteByAccountId(accountId);
+
+        // Bulk update rather than save(): the loaded entity's balance is stale after the fold
+        if (slots == 0) {
+            accountRepository.updateBalanceSlots(accountId, null);
+            return;
+        }
+        List<AccountBalanceSlot> rows = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            rows.add(new AccountBalanceSlot(account, i));
+        }
+        slotRepository.saveAll(rows);
+        accountRepository.updateBalanceSlots(accountId, slots);
+        splitAccounts.put(accountId, slots);
+    }
+
+    // Expects a surrounding transaction
+    public void clearSlots(Long accountId) {
+        accountRepository.findByIdForUpdate(accountId);
+        slotRepository.clearByAccountId(accountId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSplitAccounts() {
+        Map<Long, Integer> current = new ConcurrentHashMap<>();
+        for (Object[] row : accountRepository.findSplitAccounts()) {
+            current.put((Long) row[0], (Integer) row[1]);
+        }
+        splitAccounts.keySet().retainAll(current.keySet());
+        splitAccounts.putAll(current);
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.balance-slots.consolidate-interval-ms:5000}")
+    public void consolidate() {
+        // Also picks up accounts flagged on other nodes
+        loadSplitAccounts();
+        for (Long accountId : splitAccounts.keySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> fold(accountId));
+            } catch (RuntimeException e) {
+                logger.warn("Could not consolidate balance slots for account {}: {}", accountId, e.getMessage());
+            }
+        }
+    }
+
+    // Moves all slot balances into the account row. Locks the account row first, then the slots in order.
+    // Returns the amount folded, or null if the account does not exist.
+    private BigDecimal fold(Long accountId) {
+        if (accountRepository.findByIdForUpdate(accountId).isEmpty()) {
+            return null;
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountBalanceSlot slot : slotRepository.findByAccountIdForUpdate(accountId)) {
+            total = total.add(slot.getBalance());
+        }
+        if (total.signum() != 0) {
+            slotRepository.clearByAccountId(accountId);
+            accountRepository.credit(accountId, total);
+        }
+        return total;
+    }
+}
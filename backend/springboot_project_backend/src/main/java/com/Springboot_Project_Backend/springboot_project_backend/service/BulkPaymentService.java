@@ -0,0 +1,600 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentJobStatus;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentLineResult;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.LedgerRejectedException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.ResourceNotFoundException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.TransferPendingException;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Bulk transfers out of one account from an NDJSON or CSV payment file. The file is read line by line
+// and applied in chunks: each chunk is one database transaction with a single debit of the source and
+// the credits sent as a JDBC batch. If the chunk cannot be applied as a whole (for example the source
+// cannot cover its total) its lines are applied one at a time so every line gets its own result.
+// With the ledger engine enabled only its shard threads may write balances, so each line is submitted
+// to the engine as an ordinary transfer instead and the engine does the batching.
+@Service
+public class BulkPaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkPaymentService.class);
+
+    private static final String DEFAULT_DESCRIPTION = "Bulk payment";
+
+    @Value("${payments.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${payments.bulk.workers:2}")
+    private int workers;
+
+    @Value("${payments.bulk.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${payments.bulk.job-retention-ms:3600000}")
+    private long jobRetentionMs;
+
+    @Value("${ledger.await-timeout-ms:30000}")
+    private long awaitTimeoutMs;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerPostingService ledgerPostingService;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, BulkPaymentJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    public enum PaymentFileFormat {
+        NDJSON, CSV;
+
+        // An explicit format wins; otherwise text/csv bodies are CSV and everything else NDJSON
+        public static PaymentFileFormat from(String value, String contentType) {
+            if (value != null && !value.isBlank()) {
+                try {
+                    return PaymentFileFormat.valueOf(value.trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported payment file format: " + value);
+                }
+            }
+            if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                return CSV;
+            }
+            return NDJSON;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "bulk-payment-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Applies the file on the calling thread; results are handed to the sink in line order
+    public BulkPaymentJobStatus process(Long sourceAccountId, InputStream in, PaymentFileFormat format,
+                                        Consumer<BulkPaymentLineResult> sink) {
+        Account source = getSourceAccount(sourceAccountId);
+        BulkPaymentJob job = new BulkPaymentJob(null, null);
+        job.status = "RUNNING";
+        try {
+            apply(source, in, format, job, sink);
+            job.finish("COMPLETED", null);
+        } catch (RuntimeException e) {
+            job.finish("FAILED", e.getMessage());
+            throw e;
+        }
+        return job.toStatus();
+    }
+
+    // Spools the body to a temporary file so the request can return at once, then applies it in the background
+    public BulkPaymentJobStatus submitJob(Long userId, Long sourceAccountId, InputStream in, PaymentFileFormat format) {
+        Account source = getSourceAccount(sourceAccountId);
+        BulkPaymentJob job = new BulkPaymentJob(UUID.randomUUID().toString(), userId);
+        try {
+            job.inputFile = Files.createTempFile("bulk-payment-", ".in");
+            job.resultsFile = Files.createTempFile("bulk-payment-", ".results.ndjson");
+            Files.copy(in, job.inputFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            job.deleteFiles();
+            throw new UncheckedIOException("Failed to store payment file", e);
+        }
+
+        jobs.put(job.jobId, job);
+        try {
+            executor.execute(() -> runJob(job, source, format));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            job.deleteFiles();
+            throw new RuntimeException("Too many bulk payment jobs queued, try again later");
+        }
+        return job.toStatus();
+    }
+
+    public BulkPaymentJobStatus getJobStatus(String jobId, Long userId) {
+        return getJob(jobId, userId).toStatus();
+    }
+
+    // Results are only served once the job has stopped writing them
+    public void checkJobFinished(String jobId, Long userId) {
+        if (getJob(jobId, userId).finishedAt == null) {
+            throw new IllegalStateException("Bulk payment job is still running");
+        }
+    }
+
+    public void writeJobResults(String jobId, Long userId, OutputStream out) throws IOException {
+        Files.copy(getJob(jobId, userId).resultsFile, out);
+        out.flush();
+    }
+
+    @Scheduled(fixedDelayString = "${payments.bulk.cleanup-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jobRetentionMs * 1_000_000L);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt != null && job.finishedAt.isBefore(cutoff)) {
+                job.deleteFiles();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private BulkPaymentJob getJob(String jobId, Long userId) {
+        BulkPaymentJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Bulk payment job not found");
+        }
+        return job;
+    }
+
+    private Account getSourceAccount(Long sourceAccountId) {
+        Account source = accountRepository.findById(sourceAccountId)
+            .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
+        if (source.getStatus() != Account.AccountStatus.ACTIVE) {
+            throw new IllegalArgumentException("Source account is not active");
+        }
+        return source;
+    }
+
+    private void runJob(BulkPaymentJob job, Account source, PaymentFileFormat format) {
+        job.status = "RUNNING";
+        ObjectWriter writer = objectMapper.writerFor(BulkPaymentLineResult.class);
+        try (InputStream in = Files.newInputStream(job.inputFile);
+             BufferedWriter results = Files.newBufferedWriter(job.resultsFile, StandardCharsets.UTF_8)) {
+            apply(source, in, format, job, result -> writeLine(results, writer, result));
+            job.finish("COMPLETED", null);
+        } catch (Exception e) {
+            logger.error("Bulk payment job {} failed: {}", job.jobId, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(job.inputFile);
+            } catch (IOException e) {
+                logger.warn("Could not delete {}", job.inputFile);
+            }
+        }
+    }
+
+    private void writeLine(Writer out, ObjectWriter writer, BulkPaymentLineResult result) {
+        try {
+            out.write(writer.writeValueAsString(result));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void apply(Account source, InputStream in, PaymentFileFormat format, BulkPaymentJob job,
+                       Consumer<BulkPaymentLineResult> sink) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            Map<String, Integer> columns = null;
+            if (format == PaymentFileFormat.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return;
+                }
+                columns = parseCsvHeader(header);
+            }
+
+            List<PaymentLine> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(format == PaymentFileFormat.CSV
+                    ? parseCsvLine(lineNumber, line, columns)
+                    : parseJsonLine(lineNumber, line));
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(source, chunk, job, sink);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                applyChunk(source, chunk, job, sink);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read payment file", e);
+        }
+    }
+
+    private void applyChunk(Account source, List<PaymentLine> chunk, BulkPaymentJob job,
+                            Consumer<BulkPaymentLineResult> sink) {
+        BulkPaymentLineResult[] results = new BulkPaymentLineResult[chunk.size()];
+        resolveDestinations(source, chunk, results);
+
+        List<Integer> indexes = new ArrayList<>();
+        List<LedgerPostingService.TransferLeg> legs = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] == null) {
+                PaymentLine line = chunk.get(i);
+                indexes.add(i);
+                legs.add(new LedgerPostingService.TransferLeg(line.toAccountId, line.toAccountNumber,
+                    line.amount, line.description));
+            }
+        }
+
+        if (!legs.isEmpty() && ledgerEngine.isEnabled()) {
+            applyThroughEngine(source, chunk, indexes, results);
+        } else if (!legs.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        List<Transaction> debits = ledgerPostingService.transferBatch(
+                            source.getId(), source.getAccountNumber(), legs);
+                        for (int i = 0; i < debits.size(); i++) {
+                            results[indexes.get(i)] = toResult(chunk.get(indexes.get(i)), debits.get(i),
+                                "Destination account not found");
+                        }
+                    } catch (LedgerRejectedException e) {
+                        // The chunk total was rejected without effect; find out which lines fit
+                        for (int i : indexes) {
+                            results[i] = transferOne(source, chunk.get(i));
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Bulk payment chunk failed, applying lines individually: {}", e.getMessage());
+                for (int i : indexes) {
+                    PaymentLine line = chunk.get(i);
+                    try {
+                        results[i] = transactionTemplate.execute(status -> transferOne(source, line));
+                    } catch (RuntimeException lineFailure) {
+                        results[i] = BulkPaymentLineResult.failed(line.lineNumber, line.toAccountNumber,
+                            line.amount, lineFailure.getMessage());
+                    }
+                }
+            }
+        }
+
+        for (BulkPaymentLineResult result : results) {
+            job.record(result);
+            sink.accept(result);
+        }
+    }
+
+    // Submits the whole chunk before waiting so the engine can batch it; lines from one source share a
+    // shard and are applied in file order
+    private void applyThroughEngine(Account source, List<PaymentLine> chunk, List<Integer> indexes,
+                                    BulkPaymentLineResult[] results) {
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            PaymentLine line = chunk.get(i);
+            futures.add(ledgerEngine.submitTransfer(source.getId(), source.getAccountNumber(),
+                line.toAccountId, line.toAccountNumber, line.amount, line.description));
+        }
+        for (int n = 0; n < indexes.size(); n++) {
+            results[indexes.get(n)] = awaitLine(chunk.get(indexes.get(n)), futures.get(n));
+        }
+    }
+
+    private BulkPaymentLineResult awaitLine(PaymentLine line, CompletableFuture<Transaction> future) {
+        try {
+            return toResult(line, future.get(awaitTimeoutMs, TimeUnit.MILLISECONDS), null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransferPendingException pending) {
+                // The debit is committed; the credit is settled in the background
+                return toResult(line, pending.getTransaction(), null);
+            }
+            return BulkPaymentLineResult.failed(line.lineNumber, line.toAccountNumber, line.amount,
+                e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            return BulkPaymentLineResult.unknown(line.lineNumber, line.toAccountNumber, line.amount,
+                "Timed out waiting for the transfer to commit");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BulkPaymentLineResult.unknown(line.lineNumber, line.toAccountNumber, line.amount,
+                "Interrupted while waiting for the transfer to commit");
+        }
+    }
+
+    // Fills in destination ids with one query per chunk; lines that cannot be applied get their result here
+    private void resolveDestinations(Account source, List<PaymentLine> chunk, BulkPaymentLineResult[] results) {
+        Set<String> accountNumbers = new HashSet<>();
+        for (PaymentLine line : chunk) {
+            if (line.error == null) {
+                accountNumbers.add(line.toAccountNumber);
+            }
+        }
+        Map<String, Long> ids = new HashMap<>();
+        if (!accountNumbers.isEmpty()) {
+            for (Object[] row : accountRepository.findIdsByAccountNumberIn(accountNumbers)) {
+                ids.put((String) row[0], (Long) row[1]);
+            }
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            PaymentLine line = chunk.get(i);
+            if (line.error == null) {
+                line.toAccountId = ids.get(line.toAccountNumber);
+                if (line.toAccountId == null) {
+                    line.error = "Destination account not found";
+                } else if (line.toAccountId.equals(source.getId())) {
+                    line.error = "Cannot transfer to the source account";
+                }
+            }
+            if (line.error != null) {
+                results[i] = BulkPaymentLineResult.failed(line.lineNumber, line.toAccountNumber, line.amount, line.error);
+            }
+        }
+    }
+
+    private BulkPaymentLineResult transferOne(Account source, PaymentLine line) {
+        try {
+            Transaction debit = ledgerPostingService.transfer(source.getId(), source.getAccountNumber(),
+                line.toAccountId, line.toAccountNumber, line.amount, line.description);
+            return toResult(line, debit, null);
+        } catch (LedgerRejectedException e) {
+            return BulkPaymentLineResult.failed(line.lineNumber, line.toAccountNumber, line.amount, e.getMessage());
+        }
+    }
+
+    private BulkPaymentLineResult toResult(PaymentLine line, Transaction debit, String missingError) {
+        if (debit == null) {
+            return BulkPaymentLineResult.failed(line.lineNumber, line.toAccountNumber, line.amount, missingError);
+        }
+        return BulkPaymentLineResult.completed(line.lineNumber, line.toAccountNumber, line.amount,
+            debit.getTransactionId());
+    }
+
+    private PaymentLine parseJsonLine(long lineNumber, String text) {
+        PaymentLine line = new PaymentLine(lineNumber);
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            line.error = "Malformed JSON";
+            return line;
+        }
+        if (node == null || !node.isObject()) {
+            line.error = "Expected a JSON object";
+            return line;
+        }
+        line.toAccountNumber = textOf(node.get("toAccountNumber"));
+        line.description = textOf(node.get("description"));
+        validate(line, textOf(node.get("amount")));
+        return line;
+    }
+
+    private String textOf(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("toaccountnumber") || !columns.containsKey("amount")) {
+            throw new IllegalArgumentException("CSV header must include toAccountNumber and amount columns");
+        }
+        return columns;
+    }
+
+    private PaymentLine parseCsvLine(long lineNumber, String text, Map<String, Integer> columns) {
+        PaymentLine line = new PaymentLine(lineNumber);
+        List<String> fields = splitCsv(text);
+        line.toAccountNumber = csvField(fields, columns.get("toaccountnumber"));
+        line.description = csvField(fields, columns.get("description"));
+        validate(line, csvField(fields, columns.get("amount")));
+        return line;
+    }
+
+    private String csvField(List<String> fields, Integer index) {
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    // RFC 4180 fields: quoted values may contain commas and doubled quotes
+    private List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void validate(PaymentLine line, String amount) {
+        if (line.toAccountNumber == null || line.toAccountNumber.isBlank()) {
+            line.error = "toAccountNumber is required";
+            return;
+        }
+        if (amount == null || amount.isBlank()) {
+            line.error = "amount is required";
+            return;
+        }
+        try {
+            line.amount = new BigDecimal(amount.trim());
+        } catch (NumberFormatException e) {
+            line.error = "Invalid amount";
+            return;
+        }
+        if (line.amount.signum() <= 0) {
+            line.error = "Amount must be positive";
+        } else if (line.amount.stripTrailingZeros().scale() > 2) {
+            line.error = "Amount must have at most 2 decimal places";
+        }
+        if (line.description == null || line.description.isBlank()) {
+            line.description = DEFAULT_DESCRIPTION;
+        }
+    }
+
+    private static final class PaymentLine {
+        private final long lineNumber;
+        private String toAccountNumber;
+        private Long toAccountId;
+        private BigDecimal amount;
+        private String description;
+        private String error;
+
+        private PaymentLine(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    private static final class BulkPaymentJob {
+        private final String jobId;
+        private final Long userId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile BigDecimal amountTransferred = BigDecimal.ZERO;
+        private volatile String status = "QUEUED";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+        private Path inputFile;
+        private Path resultsFile;
+
+        private BulkPaymentJob(String jobId, Long userId) {
+            this.jobId = jobId;
+            this.userId = userId;
+        }
+
+        // Only the worker applying the file records results, so the amount needs no lock
+        private void record(BulkPaymentLineResult result) {
+            if ("COMPLETED".equals(result.getStatus())) {
+                amountTransferred = amountTransferred.add(result.getAmount());
+                succeeded.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.status = status;
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        private void deleteFiles() {
+            try {
+                if (inputFile != null) {
+                    Files.deleteIfExists(inputFile);
+                }
+                if (resultsFile != null) {
+                    Files.deleteIfExists(resultsFile);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete files of bulk payment job {}", jobId);
+            }
+        }
+
+        private BulkPaymentJobStatus toStatus() {
+            long ok = succeeded.get();
+            long notOk = failed.get();
+            return new BulkPaymentJobStatus(jobId, status, ok + notOk, ok, notOk, amountTransferred, error,
+                submittedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hit/miss figures for every cache in the application, for GET /api/admin/cache/stats
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("balances", balanceCache.getStatistics());
+
+        Map<String, Object> directory = new LinkedHashMap<>();
+        directory.put("entries", accountDirectory.size());
+        statistics.put("accountDirectory", directory);
+        statistics.put("principals", principalCache.getStatistics());
+        statistics.put("tokenRevocations", tokenRevocationService.getStatistics());
+
+        statistics.put("secondLevelCache", getSecondLevelCacheStatistics());
+        return statistics;
+    }
+
+    private Map<String, Object> getSecondLevelCacheStatistics() {
+        Statistics hibernate = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> secondLevel = new LinkedHashMap<>();
+        secondLevel.put("statisticsEnabled", hibernate.isStatisticsEnabled());
+        if (!hibernate.isStatisticsEnabled()) {
+            return secondLevel;
+        }
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        String[] regionNames = hibernate.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = hibernate.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            Map<String, Object> figures = new LinkedHashMap<>();
+            figures.put("hits", hits);
+            figures.put("misses", misses);
+            figures.put("puts", region.getPutCount());
+            figures.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            // -1 when the cache provider does not report it
+            figures.put("elementsInMemory", region.getElementCountInMemory());
+            figures.put("elementsOffHeap", region.getElementCountOnDisk());
+            regions.put(regionName, figures);
+        }
+        secondLevel.put("regions", regions);
+        return secondLevel;
+    }
+}
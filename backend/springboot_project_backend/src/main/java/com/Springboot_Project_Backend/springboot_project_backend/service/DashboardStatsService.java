@@ -0,0 +1,334 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminDashboardStats;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Admin dashboard figures served from memory. A base is loaded by one aggregate query; the write paths add
+// what each committed transaction changed to running counters, and a read is base + counters, so no query
+// runs per request. The counters only ever grow: reconciliation subtracts their value at the time its query
+// starts from the result, which keeps the sum exact except for writes committed while the query runs (those
+// may be counted twice until the next reconciliation, never lost). Writes that cannot be expressed as deltas
+// only mark the figures dirty; a scheduled check reconciles soon after, off the committing thread.
+@Service
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    // One statement, one pass over each table; today's count comes from the per-day counter rows
+    private static final String AGGREGATE_SQL =
+        "SELECT u.total_users, u.active_users, u.suspended_users, a.total_accounts, a.balance + s.balance, "
+            + "l.total_loans, l.pending_loans, l.principal, t.total_transactions, d.day_transactions "
+            + "FROM (SELECT COUNT(*) AS total_users, "
+            + "COALESCE(SUM(CASE WHEN status = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS active_users, "
+            + "COALESCE(SUM(CASE WHEN status = 'SUSPENDED' THEN 1 ELSE 0 END), 0) AS suspended_users FROM users) u "
+            + "CROSS JOIN (SELECT COUNT(*) AS total_accounts, COALESCE(SUM(balance), 0) AS balance FROM accounts) a "
+            + "CROSS JOIN (SELECT COALESCE(SUM(balance), 0) AS balance FROM account_balance_slots) s "
+            + "CROSS JOIN (SELECT COUNT(*) AS total_loans, "
+            + "COALESCE(SUM(CASE WHEN status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pending_loans, "
+            + "COALESCE(SUM(principal_amount), 0) AS principal FROM loans) l "
+            + "CROSS JOIN (SELECT COUNT(*) AS total_transactions FROM transactions) t "
+            + "CROSS JOIN (SELECT COALESCE(SUM(transaction_count), 0) AS day_transactions "
+            + "FROM transaction_daily_counts WHERE transaction_day = ?) d";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Counters counters = new Counters();
+
+    // Null until the first reconciliation
+    private volatile Base base;
+
+    // Set by reconcileAfterCommit, cleared when a reconciliation starts
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public AdminDashboardStats getStats() {
+        Base current = base;
+        if (current == null) {
+            reconcile();
+            current = base;
+        }
+        LocalDate today = LocalDate.now();
+        long todayTransactions = counters.transactionsOn(today) + (today.equals(current.day) ? current.dayTransactions : 0);
+        return new AdminDashboardStats(
+            current.totalUsers + counters.users.sum(),
+            current.activeUsers + counters.activeUsers.sum(),
+            current.suspendedUsers + counters.suspendedUsers.sum(),
+            current.totalAccounts + counters.accounts.sum(),
+            current.totalLoans + counters.loans.sum(),
+            current.pendingLoans + counters.pendingLoans.sum(),
+            current.totalDeposits.add(BigDecimal.valueOf(counters.depositCents.sum(), 2)),
+            current.totalLoanAmount.add(BigDecimal.valueOf(counters.loanAmountCents.sum(), 2)),
+            current.totalTransactions + counters.transactions.sum(),
+            todayTransactions);
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-interval-ms:60000}",
+        initialDelayString = "${dashboard.stats.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard stats reconciliation failed, keeping the previous figures: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.dirty-check-interval-ms:1000}",
+        initialDelayString = "${dashboard.stats.dirty-check-interval-ms:1000}")
+    public void reconcileIfDirty() {
+        if (dirty.get()) {
+            scheduledReconcile();
+        }
+    }
+
+    public synchronized void reconcile() {
+        boolean wasDirty = dirty.getAndSet(false);
+        LocalDate day = LocalDate.now();
+        Base offset = counters.toBase(day);
+        Base loaded;
+        try {
+            loaded = jdbcTemplate.queryForObject(AGGREGATE_SQL, (rs, rowNum) -> new Base(day,
+                    rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getBigDecimal(5),
+                    rs.getLong(6), rs.getLong(7), rs.getBigDecimal(8), rs.getLong(9), rs.getLong(10)),
+                day);
+        } catch (RuntimeException e) {
+            if (wasDirty) {
+                dirty.set(true);
+            }
+            throw e;
+        }
+        Base previous = base;
+        base = loaded.minus(offset);
+        counters.dropDaysBefore(day.minusDays(1));
+        if (previous != null) {
+            // Anything the write-path hooks missed (bulk loads, cascades, in-flight double counts)
+            logger.debug("Dashboard stats reconciled, drift: transactions={} deposits={}",
+                base.totalTransactions - previous.totalTransactions,
+                base.totalDeposits.subtract(previous.totalDeposits));
+        }
+    }
+
+    // Write-path hooks. Inside a transaction the change is applied once it commits; without one, at once.
+
+    public void userAdded(User.UserStatus status) {
+        record(delta -> {
+            delta.users++;
+            delta.countStatus(status, 1);
+        });
+    }
+
+    public void userStatusChanged(User.UserStatus from, User.UserStatus to) {
+        if (from == to) {
+            return;
+        }
+        record(delta -> {
+            delta.countStatus(from, -1);
+            delta.countStatus(to, 1);
+        });
+    }
+
+    public void accountOpened(BigDecimal balance) {
+        record(delta -> {
+            delta.accounts++;
+            delta.depositCents += cents(balance);
+        });
+    }
+
+    public void balanceChanged(BigDecimal amount) {
+        record(delta -> delta.depositCents += cents(amount));
+    }
+
+    public void transactionRecorded(Transaction transaction) {
+        record(delta -> delta.countTransaction(transaction));
+    }
+
+    public void transactionsRecorded(Collection<Transaction> transactions) {
+        record(delta -> transactions.forEach(delta::countTransaction));
+    }
+
+    public void loanApplied(BigDecimal principal, Loan.LoanStatus status) {
+        record(delta -> {
+            delta.loans++;
+            delta.loanAmountCents += cents(principal);
+            if (status == Loan.LoanStatus.PENDING) {
+                delta.pendingLoans++;
+            }
+        });
+    }
+
+    public void loanStatusChanged(Loan.LoanStatus from, Loan.LoanStatus to) {
+        if (from == to || (from != Loan.LoanStatus.PENDING && to != Loan.LoanStatus.PENDING)) {
+            return;
+        }
+        record(delta -> delta.pendingLoans += to == Loan.LoanStatus.PENDING ? 1 : -1);
+    }
+
+    // For changes that are awkward to express as deltas (cascading deletes, balances overwritten outright).
+    // The commit only marks the figures dirty; reconcileIfDirty runs the aggregate query.
+    public void reconcileAfterCommit() {
+        record(delta -> delta.reconcile = true);
+    }
+
+    private void record(Consumer<Delta> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta delta = new Delta();
+            change.accept(delta);
+            apply(delta);
+            return;
+        }
+        Delta pending = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Delta delta = new Delta();
+            TransactionSynchronizationManager.bindResource(this, delta);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardStatsService.this);
+                    // An unknown outcome is left to the next reconciliation
+                    if (status == STATUS_COMMITTED) {
+                        apply(delta);
+                    }
+                }
+            });
+            pending = delta;
+        }
+        change.accept(pending);
+    }
+
+    private void apply(Delta delta) {
+        counters.users.add(delta.users);
+        counters.activeUsers.add(delta.activeUsers);
+        counters.suspendedUsers.add(delta.suspendedUsers);
+        counters.accounts.add(delta.accounts);
+        counters.loans.add(delta.loans);
+        counters.pendingLoans.add(delta.pendingLoans);
+        counters.depositCents.add(delta.depositCents);
+        counters.loanAmountCents.add(delta.loanAmountCents);
+        counters.transactions.add(delta.transactions);
+        delta.transactionsByDay.forEach((day, count) ->
+            counters.transactionsByDay.computeIfAbsent(day, d -> new LongAdder()).add(count));
+        if (delta.reconcile) {
+            dirty.set(true);
+        }
+    }
+
+    // Money columns have two decimal places
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    // Changes made by one transaction, applied together when it commits
+    private static final class Delta {
+        private long users;
+        private long activeUsers;
+        private long suspendedUsers;
+        private long accounts;
+        private long loans;
+        private long pendingLoans;
+        private long depositCents;
+        private long loanAmountCents;
+        private long transactions;
+        private final Map<LocalDate, Long> transactionsByDay = new HashMap<>();
+        private boolean reconcile;
+
+        // Counted on the day the row is dated, as transaction_daily_counts does
+        private void countTransaction(Transaction transaction) {
+            transactions++;
+            transactionsByDay.merge(transaction.getTransactionDate().toLocalDate(), 1L, Long::sum);
+        }
+
+        private void countStatus(User.UserStatus status, int change) {
+            if (status == User.UserStatus.ACTIVE) {
+                activeUsers += change;
+            } else if (status == User.UserStatus.SUSPENDED) {
+                suspendedUsers += change;
+            }
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder users = new LongAdder();
+        private final LongAdder activeUsers = new LongAdder();
+        private final LongAdder suspendedUsers = new LongAdder();
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder loans = new LongAdder();
+        private final LongAdder pendingLoans = new LongAdder();
+        private final LongAdder depositCents = new LongAdder();
+        private final LongAdder loanAmountCents = new LongAdder();
+        private final LongAdder transactions = new LongAdder();
+        private final Map<LocalDate, LongAdder> transactionsByDay = new ConcurrentHashMap<>();
+
+        private long transactionsOn(LocalDate day) {
+            LongAdder count = transactionsByDay.get(day);
+            return count == null ? 0 : count.sum();
+        }
+
+        private void dropDaysBefore(LocalDate day) {
+            transactionsByDay.keySet().removeIf(d -> d.isBefore(day));
+        }
+
+        private Base toBase(LocalDate day) {
+            return new Base(day, users.sum(), activeUsers.sum(), suspendedUsers.sum(), accounts.sum(),
+                BigDecimal.valueOf(depositCents.sum(), 2), loans.sum(), pendingLoans.sum(),
+                BigDecimal.valueOf(loanAmountCents.sum(), 2), transactions.sum(), transactionsOn(day));
+        }
+    }
+
+    private static final class Base {
+        private final LocalDate day;
+        private final long totalUsers;
+        private final long activeUsers;
+        private final long suspendedUsers;
+        private final long totalAccounts;
+        private final BigDecimal totalDeposits;
+        private final long totalLoans;
+        private final long pendingLoans;
+        private final BigDecimal totalLoanAmount;
+        private final long totalTransactions;
+        private final long dayTransactions;
+
+        private Base(LocalDate day, long totalUsers, long activeUsers, long suspendedUsers, long totalAccounts,
+                     BigDecimal totalDeposits, long totalLoans, long pendingLoans, BigDecimal totalLoanAmount,
+                     long totalTransactions, long dayTransactions) {
+            this.day = day;
+            this.totalUsers = totalUsers;
+            this.activeUsers = activeUsers;
+            this.suspendedUsers = suspendedUsers;
+            this.totalAccounts = totalAccounts;
+            this.totalDeposits = totalDeposits == null ? BigDecimal.ZERO : totalDeposits;
+            this.totalLoans = totalLoans;
+            this.pendingLoans = pendingLoans;
+            this.totalLoanAmount = totalLoanAmount == null ? BigDecimal.ZERO : totalLoanAmount;
+            this.totalTransactions = totalTransactions;
+            this.dayTransactions = dayTransactions;
+        }
+
+        private Base minus(Base other) {
+            return new Base(day, totalUsers - other.totalUsers, activeUsers - other.activeUsers,
+                suspendedUsers - other.suspendedUsers, totalAccounts - other.totalAccounts,
+                totalDeposits.subtract(other.totalDeposits), totalLoans - other.totalLoans,
+                pendingLoans - other.pendingLoans, totalLoanAmount.subtract(other.totalLoanAmount),
+                totalTransactions - other.totalTransactions, dayTransactions - other.dayTransactions);
+        }
+    }
+}
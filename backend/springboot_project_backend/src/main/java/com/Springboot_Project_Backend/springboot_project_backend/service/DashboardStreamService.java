@@ -0,0 +1,307 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminDashboardStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes the admin dashboard figures over Server-Sent Events. One ticker reads the stats once per interval,
+// whatever the number of viewers, and publishes only the figures that changed, so a viewer gets at most one
+// event per interval. Each viewer has a small buffer drained by a shared pool of senders; a viewer whose
+// buffer fills up is dropped instead of holding events (or threads) for everyone else.
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    @Value("${dashboard.stream.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${dashboard.stream.client-buffer:8}")
+    private int clientBuffer;
+
+    @Value("${dashboard.stream.max-clients:100}")
+    private int maxClients;
+
+    @Value("${dashboard.stream.senders:4}")
+    private int senders;
+
+    @Value("${dashboard.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService ticker;
+
+    private ThreadPoolExecutor senderPool;
+
+    // What the viewers have been sent so far; guarded by this
+    private Map<String, Object> published;
+    private long sequence;
+    private long lastEventAt;
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        // Each viewer has at most one drain task queued, so the queue never needs more room than that
+        AtomicInteger threadIndex = new AtomicInteger();
+        senderPool = new ThreadPoolExecutor(senders, senders, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, maxClients)), runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-stream-sender-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        senderPool.shutdownNow();
+        for (Client client : clients) {
+            client.emitter.complete();
+        }
+        clients.clear();
+    }
+
+    // The first event ("stats") carries every figure, later ones ("delta") only those that changed
+    public SseEmitter subscribe() {
+        return register(new SseEmitter(timeoutMs));
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    SseEmitter register(SseEmitter emitter) {
+        if (clients.size() >= maxClients) {
+            throw new RejectedExecutionException("Too many dashboard streams open, please retry");
+        }
+        Client client = new Client(emitter, clientBuffer);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(error -> clients.remove(client));
+
+        // Under the same lock as publishing, so a delta is never queued ahead of an older full snapshot
+        synchronized (this) {
+            if (published == null) {
+                published = values(dashboardStatsService.getStats());
+            }
+            clients.add(client);
+            lastEventAt = System.currentTimeMillis();
+            offer(client, new Event("stats", sequence, toJson(published)));
+        }
+        return emitter;
+    }
+
+    void tick() {
+        try {
+            if (clients.isEmpty()) {
+                synchronized (this) {
+                    // Nobody has seen anything: the next viewer starts from fresh figures
+                    published = null;
+                }
+                return;
+            }
+            Map<String, Object> current = values(dashboardStatsService.getStats());
+            synchronized (this) {
+                Map<String, Object> changed = changes(published, current);
+                long now = System.currentTimeMillis();
+                if (!changed.isEmpty()) {
+                    published = current;
+                    sequence++;
+                    lastEventAt = now;
+                    broadcast(new Event("delta", sequence, toJson(changed)));
+                } else if (now - lastEventAt >= heartbeatMs) {
+                    // Keeps proxies from closing an idle stream and finds viewers that went away
+                    lastEventAt = now;
+                    broadcast(new Event(null, sequence, null));
+                }
+            }
+        } catch (Exception e) {
+            // A task that throws is never run again, so nothing may escape
+            logger.warn("Dashboard stream update failed", e);
+        }
+    }
+
+    private void broadcast(Event event) {
+        for (Client client : clients) {
+            offer(client, event);
+        }
+    }
+
+    private void offer(Client client, Event event) {
+        if (!client.buffer.offer(event)) {
+            drop(client, "buffer full");
+            return;
+        }
+        scheduleDrain(client);
+    }
+
+    private void scheduleDrain(Client client) {
+        if (client.sending.compareAndSet(false, true)) {
+            try {
+                senderPool.execute(() -> drain(client));
+            } catch (RejectedExecutionException e) {
+                client.sending.set(false);
+                drop(client, "no sender available");
+            }
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            while (true) {
+                if (client.closed) {
+                    client.emitter.complete();
+                    return;
+                }
+                Event event = client.buffer.poll();
+                if (event == null) {
+                    client.sending.set(false);
+                    // An event offered after the poll but before the flag was cleared found the flag still set
+                    if (client.buffer.isEmpty() || !client.sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                send(client.emitter, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Gone or already completed; the emitter callbacks remove it
+            clients.remove(client);
+            client.closed = true;
+            client.buffer.clear();
+        }
+    }
+
+    private void send(SseEmitter emitter, Event event) throws IOException {
+        if (event.name == null) {
+            emitter.send(SseEmitter.event().comment("keepalive"));
+            return;
+        }
+        emitter.send(SseEmitter.event().name(event.name).id(String.valueOf(event.sequence))
+            .data(event.json, MediaType.APPLICATION_JSON));
+    }
+
+    // The sender finishes the emitter, so a viewer stuck in a write never holds up the ticker
+    private void drop(Client client, String reason) {
+        if (clients.remove(client)) {
+            client.closed = true;
+            client.buffer.clear();
+            logger.info("Dropped dashboard stream: {}", reason);
+            if (client.sending.compareAndSet(false, true)) {
+                try {
+                    senderPool.execute(() -> drain(client));
+                } catch (RejectedExecutionException e) {
+                    client.sending.set(false);
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> values(AdminDashboardStats stats) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("totalUsers", stats.getTotalUsers());
+        values.put("activeUsers", stats.getActiveUsers());
+        values.put("suspendedUsers", stats.getSuspendedUsers());
+        values.put("totalAccounts", stats.getTotalAccounts());
+        values.put("totalLoans", stats.getTotalLoans());
+        values.put("pendingLoans", stats.getPendingLoans());
+        values.put("totalDeposits", stats.getTotalDeposits());
+        values.put("totalLoanAmount", stats.getTotalLoanAmount());
+        values.put("totalTransactions", stats.getTotalTransactions());
+        values.put("todayTransactions", stats.getTodayTransactions());
+        return values;
+    }
+
+    // Figures in `current` that differ from `previous`, with their new values
+    private Map<String, Object> changes(Map<String, Object> previous, Map<String, Object> current) {
+        if (previous == null) {
+            return current;
+        }
+        Map<String, Object> changed = new LinkedHashMap<>();
+        current.forEach((name, value) -> {
+            Object before = previous.get(name);
+            boolean same = value instanceof BigDecimal && before instanceof BigDecimal
+                ? ((BigDecimal) value).compareTo((BigDecimal) before) == 0
+                : Objects.equals(value, before);
+            if (!same) {
+                changed.put(name, value);
+            }
+        });
+        return changed;
+    }
+
+    private String toJson(Map<String, Object> values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize dashboard stats", e);
+        }
+    }
+
+    // Serialized once and shared by every viewer; a null name is a keepalive comment
+    private static final class Event {
+        private final String name;
+        private final long sequence;
+        private final String json;
+
+        private Event(String name, long sequence, String json) {
+            this.name = name;
+            this.sequence = sequence;
+            this.json = json;
+        }
+    }
+
+    private static final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Group commit for single-account postings: concurrent deposits and withdrawals are collected for up to
+// max-wait-ms (or max-batch items) and committed together, so many callers share one commit. Within the
+// group, LedgerPostingService.postBatch sends the balance updates as one JDBC batch and the ledger rows as
+// one batched insert.
+// Postings are partitioned across flushers by account, so parallel batches never lock the same rows.
+@Component
+public class GroupCommitStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitStage.class);
+
+    @Value("${ledger.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledger.group-commit.max-batch:128}")
+    private int maxBatch;
+
+    @Value("${ledger.group-commit.max-wait-ms:2}")
+    private long maxWaitMs;
+
+    @Value("${ledger.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ledger.group-commit.flushers:2}")
+    private int flusherCount;
+
+    @Autowired
+    private LedgerPostingService postingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<BlockingQueue<Posting>> queues = new ArrayList<>();
+    private final List<Thread> flushers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < flusherCount; i++) {
+            BlockingQueue<Posting> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            Thread flusher = new Thread(() -> run(queue), "group-commit-" + i);
+            flushers.add(flusher);
+            flusher.start();
+        }
+        logger.info("Group commit started with {} flushers (max batch {}, max wait {} ms)",
+            flusherCount, maxBatch, maxWaitMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread flusher : flushers) {
+            flusher.interrupt();
+        }
+        for (Thread flusher : flushers) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Transaction> submit(Long accountId, Transaction.TransactionType type,
+                                                 BigDecimal amount, String description) {
+        Posting posting = new Posting(accountId, type, amount, description);
+        BlockingQueue<Posting> queue = queues.get(Math.floorMod(Long.hashCode(accountId), queues.size()));
+        if (!queue.offer(posting)) {
+            posting.future.completeExceptionally(new RejectedExecutionException("Transaction queue is full, please retry"));
+        }
+        return posting.future;
+    }
+
+    private void run(BlockingQueue<Posting> queue) {
+        List<Posting> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Posting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Posting next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: flush what was collected, then drain the rest without waiting
+                queue.drainTo(batch, maxBatch - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Posting> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> postingService.postBatch(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                // Isolate the failing posting so it cannot fail the rest of the group
+                for (Posting posting : batch) {
+                    flush(List.of(posting));
+                }
+            } else {
+                batch.get(0).future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (Posting posting : batch) {
+            if (posting.getRejection() != null) {
+                posting.future.completeExceptionally(posting.getRejection());
+            } else {
+                posting.future.complete(posting.getResult());
+            }
+        }
+    }
+
+    private static final class Posting extends LedgerPostingService.BatchPosting {
+        final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        Posting(Long accountId, Transaction.TransactionType type, BigDecimal amount, String description) {
+            super(accountId, type, amount, description);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Idempotency-Key support for POST endpoints that move money. The first request with a key runs and its
+// successful response is kept (in memory for this instance, in idempotency_keys for every instance) until
+// the TTL expires; retries with the same key get that response back without running again. Duplicates that
+// arrive while the first is still running wait for it. Only 4xx and 503 responses release the key: those
+// are refused before anything is posted, so the client may retry with the same key. Any other failure may
+// have posted, so the key is kept as UNKNOWN and retries are told to check the history instead.
+// A running request holds a lease that this instance renews; if the instance dies the lease lapses and the
+// key turns UNKNOWN rather than answering "in progress" until the TTL.
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    @Value("${idempotency.lease-ms:60000}")
+    private long leaseMs;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Insertion order of entries; with a single TTL this is also expiry order
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    // Runs the action once per (caller, key); without a key the action simply runs
+    public ResponseEntity<?> execute(String idempotencyKey, String endpoint, Map<String, Object> request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopeKey = currentPrincipal() + ":" + idempotencyKey;
+        String requestHash = hash(endpoint, request);
+
+        while (true) {
+            Entry existing = entries.get(scopeKey);
+            if (existing != null && existing.isExpired()) {
+                entries.remove(scopeKey, existing);
+                existing = null;
+            }
+            if (existing != null) {
+                if (!existing.requestHash.equals(requestHash)) {
+                    return keyReused();
+                }
+                return await(existing);
+            }
+
+            Entry claimed = new Entry(requestHash, System.currentTimeMillis() + ttlMs);
+            if (entries.putIfAbsent(scopeKey, claimed) == null) {
+                insertionOrder.add(scopeKey);
+                evictOverflow();
+                return runClaimed(scopeKey, claimed, action);
+            }
+            // Another thread claimed the key between get and putIfAbsent; wait on it instead
+        }
+    }
+
+    // Drops expired keys from memory and from the table
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:300000}")
+    public void evictExpired() {
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        insertionOrder.removeIf(scopeKey -> !entries.containsKey(scopeKey));
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    // Keeps the claims of requests still running here from lapsing
+    @Scheduled(fixedDelayString = "${idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        List<String> running = new ArrayList<>();
+        entries.forEach((scopeKey, entry) -> {
+            if (!entry.result.isDone()) {
+                running.add(scopeKey);
+            }
+        });
+        if (!running.isEmpty()) {
+            idempotencyRecordRepository.renewLeases(running, owner, leaseUntil());
+        }
+    }
+
+    private ResponseEntity<?> runClaimed(String scopeKey, Entry claimed, Supplier<ResponseEntity<?>> action) {
+        StoredResponse response;
+        try {
+            response = runOnce(scopeKey, claimed, action);
+        } catch (RuntimeException e) {
+            // Duplicates waiting here see the failure; later retries read the durable record
+            entries.remove(scopeKey, claimed);
+            claimed.result.completeExceptionally(e);
+            throw e;
+        }
+        if (releasesKey(response.status)) {
+            entries.remove(scopeKey, claimed);
+            claimed.result.complete(response);
+        } else if (isSuccess(response.status)) {
+            claimed.result.complete(response);
+        } else {
+            claimed.result.complete(outcomeUnknown(response.status));
+        }
+        return response.toResponseEntity(false);
+    }
+
+    private StoredResponse runOnce(String scopeKey, Entry claimed, Supplier<ResponseEntity<?>> action) {
+        // Another instance (or an earlier run of this one) may already own the key
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByScopeKey(scopeKey);
+        if (stored.isPresent()) {
+            IdempotencyRecord record = stored.get();
+            if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                idempotencyRecordRepository.deleteByScopeKey(scopeKey);
+            } else if (!record.getRequestHash().equals(claimed.requestHash)) {
+                return StoredResponse.of(keyReused(), objectMapper);
+            } else if (record.getStatus() != IdempotencyRecord.RecordStatus.IN_PROGRESS) {
+                return new StoredResponse(record.getResponseStatus(), record.getResponseBody(), true);
+            } else {
+                StoredResponse unknown = outcomeUnknown(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                if (idempotencyRecordRepository.markUnknownIfLeaseExpired(scopeKey, unknown.status, unknown.body,
+                        LocalDateTime.now()) == 1) {
+                    logger.warn("Idempotency key {} was abandoned by its owner; outcome unknown", scopeKey);
+                    return unknown;
+                }
+                return StoredResponse.of(inProgress(), objectMapper);
+            }
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(ttlMs * 1_000_000L);
+        IdempotencyRecord record = new IdempotencyRecord(scopeKey, claimed.requestHash, expiresAt);
+        record.setOwner(owner);
+        record.setLeaseExpiresAt(leaseUntil());
+        try {
+            idempotencyRecordRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            return StoredResponse.of(inProgress(), objectMapper);
+        }
+
+        StoredResponse response;
+        try {
+            response = StoredResponse.of(action.get(), objectMapper);
+        } catch (RuntimeException e) {
+            StoredResponse unknown = outcomeUnknown(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            idempotencyRecordRepository.markUnknown(scopeKey, unknown.status, unknown.body);
+            throw e;
+        }
+        if (isSuccess(response.status)) {
+            idempotencyRecordRepository.complete(scopeKey, response.status, response.body);
+        } else if (releasesKey(response.status)) {
+            idempotencyRecordRepository.deleteByScopeKey(scopeKey);
+        } else {
+            StoredResponse unknown = outcomeUnknown(response.status);
+            idempotencyRecordRepository.markUnknown(scopeKey, unknown.status, unknown.body);
+        }
+        return response;
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    // Validation failures, rejected postings and overload (503) are all refused before anything is written
+    private static boolean releasesKey(int status) {
+        return (status >= 400 && status < 500) || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    // What retries see once a request failed in a way that may still have posted
+    private StoredResponse outcomeUnknown(int status) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(errorBody("The outcome of the original request with this "
+                + HEADER + " is unknown; check the transaction history before retrying with a new key"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+        return new StoredResponse(status, body, true);
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusNanos(leaseMs * 1_000_000L);
+    }
+
+    private ResponseEntity<?> await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS).toResponseEntity(true);
+        } catch (TimeoutException e) {
+            return inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress();
+        } catch (ExecutionException e) {
+            // The first request failed before producing a response; report the same failure
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getCause().getMessage());
+        }
+    }
+
+    // In-flight entries are never evicted, so the map may briefly exceed the bound under heavy load
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            Entry entry = entries.get(oldest);
+            if (entry != null && entry.result.isDone()) {
+                entries.remove(oldest, entry);
+            } else if (entry != null) {
+                insertionOrder.add(oldest);
+                return;
+            }
+        }
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    // Fingerprint of the endpoint and body, so a key cannot be replayed against a different request
+    private String hash(String endpoint, Map<String, Object> request) {
+        try {
+            String canonical = endpoint + "\n" + objectMapper.writeValueAsString(new TreeMap<>(request));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private ResponseEntity<?> keyReused() {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+    }
+
+    private ResponseEntity<?> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .header("Retry-After", "1")
+            .body(errorBody("A request with this " + HEADER + " is still in progress"));
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(errorBody(message));
+    }
+
+    private Map<String, String> errorBody(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final long expiresAtMillis;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        private Entry(String requestHash, long expiresAtMillis) {
+            this.requestHash = requestHash;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired() {
+            return result.isDone() && System.currentTimeMillis() > expiresAtMillis;
+        }
+    }
+
+    // A response reduced to status and JSON text, so replays never re-serialize entities
+    private static final class StoredResponse {
+        private final int status;
+        private final String body;
+        private final boolean replayed;
+
+        private StoredResponse(int status, String body, boolean replayed) {
+            this.status = status;
+            this.body = body;
+            this.replayed = replayed;
+        }
+
+        private static StoredResponse of(ResponseEntity<?> response, ObjectMapper objectMapper) {
+            try {
+                String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+                return new StoredResponse(response.getStatusCode().value(), body, false);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize response", e);
+            }
+        }
+
+        private ResponseEntity<?> toResponseEntity(boolean replay) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+            if (replay || replayed) {
+                builder.header("Idempotent-Replayed", "true");
+            }
+            return builder.body(body);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.LedgerRejectedException;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.TransferPendingException;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Optional single-writer ledger: accounts are hash-sharded onto writer threads, each fed by a bounded
+// lock-free queue and committing whatever it has queued (up to batch-size) in one database transaction.
+// Postings and transfers for an account are written only by its owning shard, so they never queue on each
+// other's row locks. Other writers still lock account rows outside the shards and may briefly contend with
+// it: balance overwrites (AccountService.updateBalance), slot splitting and consolidation (BalanceSlotService),
+// account deletion, and the refund of a transfer whose destination has gone, which runs on the destination's
+// shard. None of this relies on the shard being the only writer: every balance change is a conditional UPDATE.
+// Transfers that cross shards debit on the source shard and hand the credit to the destination shard; the PENDING debit
+// row makes that hand-off durable. Debits left PENDING (process stopped, credit failed) are settled on
+// startup and retried on a schedule; if the destination has gone the source is refunded instead.
+@Component
+public class LedgerEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Value("${ledger.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledger.engine.shards:4}")
+    private int shardCount;
+
+    @Value("${ledger.engine.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ledger.engine.batch-size:64}")
+    private int batchSize;
+
+    // Younger debits may still have their settle command queued behind the original transfer
+    @Value("${ledger.settle-retry-min-age-ms:60000}")
+    private long settleRetryMinAgeMs;
+
+    @Autowired
+    private LedgerPostingService postingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Shard[] shards;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].thread.start();
+        }
+        logger.info("Ledger engine started with {} shards (queue capacity {}, batch size {})",
+            shardCount, queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Transaction> submitPosting(Long accountId, Transaction.TransactionType type,
+                                                       BigDecimal amount, String description) {
+        return submit(shardFor(accountId), new PostingCommand(accountId, type, amount, description));
+    }
+
+    public CompletableFuture<Transaction> submitTransfer(Long fromAccountId, String fromAccountNumber,
+                                                        Long toAccountId, String toAccountNumber,
+                                                        BigDecimal amount, String description) {
+        return submit(shardFor(fromAccountId), new TransferCommand(
+            fromAccountId, fromAccountNumber, toAccountId, toAccountNumber, amount, description));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void settleUnfinishedTransfers() {
+        settleTransfersBefore(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.settle-retry-interval-ms:60000}",
+               initialDelayString = "${ledger.settle-retry-interval-ms:60000}")
+    public void retryUnsettledTransfers() {
+        settleTransfersBefore(LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(settleRetryMinAgeMs)));
+    }
+
+    private void settleTransfersBefore(LocalDateTime before) {
+        List<Transaction> unsettled = transactionRepository.findUnsettledTransfers(
+            Transaction.TransactionStatus.PENDING, before);
+        if (unsettled.isEmpty()) {
+            return;
+        }
+        logger.info("Settling {} unfinished transfer(s)", unsettled.size());
+        for (Transaction debit : unsettled) {
+            Long toAccountId = debit.getCounterpartyAccountId();
+            String fromAccountNumber = accountRepository.findAccountNumberById(debit.getAccount().getId()).orElse("");
+            String toAccountNumber = accountRepository.findAccountNumberById(toAccountId).orElse("");
+            String prefix = "Transfer to " + toAccountNumber + " - ";
+            String description = debit.getDescription().startsWith(prefix)
+                ? debit.getDescription().substring(prefix.length())
+                : debit.getDescription();
+            SettleCommand settle = new SettleCommand(debit, debit.getAccount().getId(), toAccountId,
+                fromAccountNumber, debit.getAmount().negate(), description, new CompletableFuture<>());
+            if (enabled) {
+                shardFor(toAccountId).offer(settle, false);
+            } else {
+                execute(List.of(settle));
+            }
+        }
+    }
+
+    private Shard shardFor(Long accountId) {
+        return shards[Math.floorMod(Long.hashCode(accountId), shards.length)];
+    }
+
+    private CompletableFuture<Transaction> submit(Shard shard, Command command) {
+        if (!shard.offer(command, true)) {
+            command.future.completeExceptionally(new RejectedExecutionException("Ledger engine is busy, please retry"));
+        }
+        return command.future;
+    }
+
+    // Runs a batch in one transaction. If the transaction itself fails, the commands are retried one by one
+    // so a single bad command cannot fail its neighbours.
+    private void execute(List<Command> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Command command : batch) {
+                    command.rejection = null;
+                    try {
+                        command.apply();
+                    } catch (LedgerRejectedException e) {
+                        command.rejection = e;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                for (Command command : batch) {
+                    execute(List.of(command));
+                }
+            } else {
+                batch.get(0).fail(e);
+            }
+            return;
+        }
+        for (Command command : batch) {
+            command.afterCommit();
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final ConcurrentLinkedQueue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Shard(int index) {
+            this.thread = new Thread(this, "ledger-shard-" + index);
+        }
+
+        // Internal hand-offs (credit legs) bypass the bound: they are already committed obligations
+        boolean offer(Command command, boolean bounded) {
+            if (depth.incrementAndGet() > queueCapacity && bounded) {
+                depth.decrementAndGet();
+                return false;
+            }
+            queue.offer(command);
+            LockSupport.unpark(thread);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                Command command;
+                while (batch.size() < batchSize && (command = queue.poll()) != null) {
+                    depth.decrementAndGet();
+                    batch.add(command);
+                }
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    execute(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Ledger shard {} failed to process a batch", thread.getName(), e);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private abstract static class Command {
+        final CompletableFuture<Transaction> future;
+        Transaction result;
+        LedgerRejectedException rejection;
+
+        Command(CompletableFuture<Transaction> future) {
+            this.future = future;
+        }
+
+        abstract void apply();
+
+        void afterCommit() {
+            if (rejection != null) {
+                future.completeExceptionally(rejection);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        void fail(RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private final class PostingCommand extends Command {
+        private final Long accountId;
+        private final Transaction.TransactionType type;
+        private final BigDecimal amount;
+        private final String description;
+
+        PostingCommand(Long accountId, Transaction.TransactionType type, BigDecimal amount, String description) {
+            super(new CompletableFuture<>());
+            this.accountId = accountId;
+            this.type = type;
+            this.amount = amount;
+            this.description = description;
+        }
+
+        @Override
+        void apply() {
+            result = postingService.post(accountId, type, amount, description);
+        }
+    }
+
+    private final class TransferCommand extends Command {
+        private final Long fromAccountId;
+        private final String fromAccountNumber;
+        private final Long toAccountId;
+        private final String toAccountNumber;
+        private final BigDecimal amount;
+        private final String description;
+        private final boolean crossShard;
+
+        TransferCommand(Long fromAccountId, String fromAccountNumber, Long toAccountId, String toAccountNumber,
+                        BigDecimal amount, String description) {
+            super(new CompletableFuture<>());
+            this.fromAccountId = fromAccountId;
+            this.fromAccountNumber = fromAccountNumber;
+            this.toAccountId = toAccountId;
+            this.toAccountNumber = toAccountNumber;
+            this.amount = amount;
+            this.description = description;
+            this.crossShard = shardFor(fromAccountId) != shardFor(toAccountId);
+        }
+
+        @Override
+        void apply() {
+            if (crossShard) {
+                result = postingService.transferOut(fromAccountId, toAccountId, toAccountNumber, amount, description);
+            } else {
+                result = postingService.transfer(fromAccountId, fromAccountNumber, toAccountId, toAccountNumber,
+                    amount, description);
+            }
+        }
+
+        @Override
+        void afterCommit() {
+            if (crossShard && rejection == null) {
+                // The caller is answered once the destination shard has applied the credit
+                shardFor(toAccountId).offer(new SettleCommand(
+                    result, fromAccountId, toAccountId, fromAccountNumber, amount, description, future), false);
+            } else {
+                super.afterCommit();
+            }
+        }
+    }
+
+    private final class SettleCommand extends Command {
+        private final Transaction debit;
+        private final Long fromAccountId;
+        private final Long toAccountId;
+        private final String fromAccountNumber;
+        private final BigDecimal amount;
+        private final String description;
+        private Transaction.TransactionStatus outcome;
+
+        SettleCommand(Transaction debit, Long fromAccountId, Long toAccountId, String fromAccountNumber,
+                      BigDecimal amount, String description, CompletableFuture<Transaction> future) {
+            super(future);
+            this.debit = debit;
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            this.fromAccountNumber = fromAccountNumber;
+            this.amount = amount;
+            this.description = description;
+        }
+
+        @Override
+        void apply() {
+            outcome = postingService.settleTransferIn(debit.getId(), fromAccountId, toAccountId, fromAccountNumber,
+                amount, description);
+            result = debit;
+        }
+
+        @Override
+        void afterCommit() {
+            if (outcome == Transaction.TransactionStatus.FAILED) {
+                debit.setStatus(Transaction.TransactionStatus.FAILED);
+                future.completeExceptionally(
+                    new LedgerRejectedException("Destination account no longer exists; the transfer was refunded"));
+                return;
+            }
+            if (outcome != null) {
+                debit.setStatus(outcome);
+            }
+            future.complete(debit);
+        }
+
+        @Override
+        void fail(RuntimeException e) {
+            // The debit is durable; the credit stays PENDING and is picked up by retryUnsettledTransfers
+            logger.error("Could not settle transfer {} into account {}", debit.getId(), toAccountId, e);
+            future.completeExceptionally(new TransferPendingException(debit));
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.LedgerRejectedException;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Balance and ledger-row primitives shared by the direct write path and the ledger engine.
+// Callers own the surrounding transaction. A LedgerRejectedException means the call left
+// balances unchanged, so the caller may keep using the transaction.
+@Service
+public class LedgerPostingService {
+
+    private static final String CREDIT_SQL =
+        "UPDATE accounts SET balance = balance + ?, updated_at = ? WHERE id = ?";
+
+    // Signed change; a negative one only applies while the balance covers it
+    private static final String POST_SQL =
+        "UPDATE accounts SET balance = balance + ?, updated_at = ? WHERE id = ? AND (? >= 0 OR balance >= ?)";
+
+    @Value("${ledger.engine.enabled:false}")
+    private boolean ledgerEngineEnabled;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
+    public Transaction post(Long accountId, Transaction.TransactionType type, BigDecimal amount, String description) {
+        if (type == Transaction.TransactionType.DEPOSIT) {
+            credit(accountId, amount);
+        } else {
+            debit(accountId, amount);
+        }
+        return record(accountId, type, amount, description, Transaction.TransactionStatus.COMPLETED);
+    }
+
+    // A group of single-account postings from concurrent callers, so any order among them is valid. Balance
+    // changes to unsplit accounts go out as one JDBC batch in ascending account order, then every ledger row is
+    // inserted by one saveAll. A debit the batch could not cover is retried against the account's slots, which
+    // another node may have created. Each posting ends up with either a result or a rejection.
+    public void postBatch(List<? extends BatchPosting> postings) {
+        List<BatchPosting> ordered = new ArrayList<>(postings);
+        ordered.sort(Comparator.comparing(BatchPosting::getAccountId));
+
+        List<BatchPosting> batched = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        List<BatchPosting> applied = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (BatchPosting posting : ordered) {
+            posting.result = null;
+            posting.rejection = null;
+            if (balanceSlotService.isSplit(posting.accountId)) {
+                try {
+                    applyPosting(posting);
+                    applied.add(posting);
+                } catch (LedgerRejectedException e) {
+                    posting.rejection = e;
+                }
+            } else {
+                BigDecimal change = posting.change();
+                batched.add(posting);
+                batchArgs.add(new Object[] { change, now, posting.accountId, change, posting.amount });
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(POST_SQL, batchArgs);
+            for (int i = 0; i < counts.length; i++) {
+                BatchPosting posting = batched.get(i);
+                if (counts[i] == 0) {
+                    try {
+                        if (posting.type == Transaction.TransactionType.DEPOSIT) {
+                            throw new LedgerRejectedException("Account not found");
+                        }
+                        balanceSlotService.foldAndDebit(posting.accountId, posting.amount);
+                    } catch (LedgerRejectedException e) {
+                        posting.rejection = e;
+                        continue;
+                    }
+                }
+                balanceCache.evictAfterCommit(posting.accountId);
+                dashboardStatsService.balanceChanged(posting.change());
+                applied.add(posting);
+            }
+        }
+
+        List<Transaction> rows = new ArrayList<>(applied.size());
+        for (BatchPosting posting : applied) {
+            rows.add(newRecord(posting.accountId, posting.type, posting.amount, posting.description,
+                Transaction.TransactionStatus.COMPLETED));
+        }
+        List<Transaction> saved = transactionRepository.saveAll(rows);
+        dashboardStatsService.transactionsRecorded(saved);
+        transactionDailyCounter.recorded(saved);
+        for (int i = 0; i < saved.size(); i++) {
+            applied.get(i).result = saved.get(i);
+        }
+    }
+
+    private void applyPosting(BatchPosting posting) {
+        if (posting.type == Transaction.TransactionType.DEPOSIT) {
+            credit(posting.accountId, posting.amount);
+        } else {
+            debit(posting.accountId, posting.amount);
+        }
+    }
+
+    // Both legs in one transaction; rows are touched in ascending id order so opposing transfers cannot deadlock
+    public Transaction transfer(Long fromAccountId, String fromAccountNumber, Long toAccountId, String toAccountNumber,
+                                BigDecimal amount, String description) {
+        if (fromAccountId.compareTo(toAccountId) <= 0) {
+            debit(fromAccountId, amount);
+            if (!tryCredit(toAccountId, amount)) {
+                credit(fromAccountId, amount);
+                throw new LedgerRejectedException("Destination account not found");
+            }
+        } else {
+            if (!tryCredit(toAccountId, amount)) {
+                throw new LedgerRejectedException("Destination account not found");
+            }
+            try {
+                debit(fromAccountId, amount);
+            } catch (LedgerRejectedException e) {
+                // Take the credit back wherever it landed: a split destination holds it in a slot, and this
+                // transaction still holds the lock on that slot, so some slot can always cover it
+                debit(toAccountId, amount);
+                throw e;
+            }
+        }
+
+        Transaction debitTransaction = record(fromAccountId, Transaction.TransactionType.TRANSFER, amount.negate(),
+            "Transfer to " + toAccountNumber + " - " + description, Transaction.TransactionStatus.COMPLETED);
+        record(toAccountId, Transaction.TransactionType.TRANSFER, amount,
+            "Transfer from " + fromAccountNumber + " - " + description, Transaction.TransactionStatus.COMPLETED);
+        return debitTransaction;
+    }
+
+    // Many transfers out of one account: a single debit for the total, then the credits summed per
+    // destination and sent as one JDBC batch in ascending id order. Returns the debit row for each leg,
+    // or null where the destination vanished (that amount is refunded to the source).
+    // Writes account rows directly, so it must not be used while the ledger engine owns them.
+    public List<Transaction> transferBatch(Long fromAccountId, String fromAccountNumber, List<TransferLeg> legs) {
+        if (ledgerEngineEnabled) {
+            throw new IllegalStateException("Batch transfers bypass the ledger engine; submit each transfer to it instead");
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        Map<Long, BigDecimal> credits = new TreeMap<>();
+        for (TransferLeg leg : legs) {
+            total = total.add(leg.getAmount());
+            credits.merge(leg.getToAccountId(), leg.getAmount(), BigDecimal::add);
+        }
+        debit(fromAccountId, total);
+
+        Set<Long> missing = new HashSet<>();
+        List<Long> batchIds = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<Long, BigDecimal> credit : credits.entrySet()) {
+            if (balanceSlotService.isSplit(credit.getKey())) {
+                if (!tryCredit(credit.getKey(), credit.getValue())) {
+                    missing.add(credit.getKey());
+                }
+            } else {
+                batchIds.add(credit.getKey());
+                batchArgs.add(new Object[] { credit.getValue(), now, credit.getKey() });
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(CREDIT_SQL, batchArgs);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(batchIds.get(i));
+                } else {
+                    balanceCache.evictAfterCommit(batchIds.get(i));
+                    dashboardStatsService.balanceChanged(credits.get(batchIds.get(i)));
+                }
+            }
+        }
+
+        BigDecimal refund = BigDecimal.ZERO;
+        Transaction[] debitRows = new Transaction[legs.size()];
+        List<Transaction> rows = new ArrayList<>(legs.size() * 2);
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLeg leg = legs.get(i);
+            if (missing.contains(leg.getToAccountId())) {
+                refund = refund.add(leg.getAmount());
+                continue;
+            }
+            debitRows[i] = newRecord(fromAccountId, Transaction.TransactionType.TRANSFER, leg.getAmount().negate(),
+                "Transfer to " + leg.getToAccountNumber() + " - " + leg.getDescription(),
+                Transaction.TransactionStatus.COMPLETED);
+            rows.add(debitRows[i]);
+            rows.add(newRecord(leg.getToAccountId(), Transaction.TransactionType.TRANSFER, leg.getAmount(),
+                "Transfer from " + fromAccountNumber + " - " + leg.getDescription(),
+                Transaction.TransactionStatus.COMPLETED));
+        }
+        if (refund.signum() > 0) {
+            credit(fromAccountId, refund);
+        }
+        transactionRepository.saveAll(rows);
+        dashboardStatsService.transactionsRecorded(rows);
+        transactionDailyCounter.recorded(rows);
+        return Arrays.asList(debitRows);
+    }
+
+    // Debit leg of a transfer whose credit is settled in a separate transaction.
+    // The debit row stays PENDING until settleTransferIn runs.
+    public Transaction transferOut(Long fromAccountId, Long toAccountId, String toAccountNumber,
+                                   BigDecimal amount, String description) {
+        debit(fromAccountId, amount);
+        Transaction debitTransaction = newRecord(fromAccountId, Transaction.TransactionType.TRANSFER, amount.negate(),
+            "Transfer to " + toAccountNumber + " - " + description, Transaction.TransactionStatus.PENDING);
+        debitTransaction.setCounterpartyAccountId(toAccountId);
+        Transaction saved = transactionRepository.save(debitTransaction);
+        dashboardStatsService.transactionRecorded(saved);
+        transactionDailyCounter.recorded(saved);
+        return saved;
+    }
+
+    // Returns the new status of the debit row: COMPLETED once credited, FAILED when the destination
+    // has gone and the amount was refunded, or null when another settle attempt got there first
+    public Transaction.TransactionStatus settleTransferIn(Long debitTransactionId, Long fromAccountId, Long toAccountId,
+                                                         String fromAccountNumber, BigDecimal amount, String description) {
+        if (transactionRepository.updateStatusIf(debitTransactionId,
+                Transaction.TransactionStatus.PENDING, Transaction.TransactionStatus.COMPLETED) == 0) {
+            return null;
+        }
+        if (!tryCredit(toAccountId, amount)) {
+            if (!tryCredit(fromAccountId, amount)) {
+                throw new IllegalStateException("Neither account of transfer " + debitTransactionId + " exists any more");
+            }
+            transactionRepository.updateStatusIf(debitTransactionId,
+                Transaction.TransactionStatus.COMPLETED, Transaction.TransactionStatus.FAILED);
+            return Transaction.TransactionStatus.FAILED;
+        }
+        record(toAccountId, Transaction.TransactionType.TRANSFER, amount,
+            "Transfer from " + fromAccountNumber + " - " + description, Transaction.TransactionStatus.COMPLETED);
+        return Transaction.TransactionStatus.COMPLETED;
+    }
+
+    public void debit(Long accountId, BigDecimal amount) {
+        if (balanceSlotService.isSplit(accountId)) {
+            balanceSlotService.debit(accountId, amount);
+        } else if (accountRepository.debit(accountId, amount) == 0) {
+            // The account may have been split on another node; its slots still count towards the balance
+            balanceSlotService.foldAndDebit(accountId, amount);
+        }
+        balanceCache.evictAfterCommit(accountId);
+        dashboardStatsService.balanceChanged(amount.negate());
+    }
+
+    public void credit(Long accountId, BigDecimal amount) {
+        if (!tryCredit(accountId, amount)) {
+            throw new LedgerRejectedException("Account not found");
+        }
+    }
+
+    private boolean tryCredit(Long accountId, BigDecimal amount) {
+        if (balanceSlotService.isSplit(accountId)) {
+            try {
+                balanceSlotService.credit(accountId, amount);
+            } catch (LedgerRejectedException e) {
+                return false;
+            }
+        } else if (accountRepository.credit(accountId, amount) == 0) {
+            return false;
+        }
+        balanceCache.evictAfterCommit(accountId);
+        dashboardStatsService.balanceChanged(amount);
+        return true;
+    }
+
+    private Transaction record(Long accountId, Transaction.TransactionType type, BigDecimal amount,
+                               String description, Transaction.TransactionStatus status) {
+        Transaction saved = transactionRepository.save(newRecord(accountId, type, amount, description, status));
+        dashboardStatsService.transactionRecorded(saved);
+        transactionDailyCounter.recorded(saved);
+        return saved;
+    }
+
+    private Transaction newRecord(Long accountId, Transaction.TransactionType type, BigDecimal amount,
+                                  String description, Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(accountRepository.getReferenceById(accountId));
+        transaction.setType(type);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setStatus(status);
+        return transaction;
+    }
+
+    // One posting of a postBatch call; subclasses may carry whatever the caller needs to answer it
+    public static class BatchPosting {
+        private final Long accountId;
+        private final Transaction.TransactionType type;
+        private final BigDecimal amount;
+        private final String description;
+        private Transaction result;
+        private LedgerRejectedException rejection;
+
+        public BatchPosting(Long accountId, Transaction.TransactionType type, BigDecimal amount, String description) {
+            this.accountId = accountId;
+            this.type = type;
+            this.amount = amount;
+            this.description = description;
+        }
+
+        public Long getAccountId() { return accountId; }
+        public Transaction getResult() { return result; }
+        public LedgerRejectedException getRejection() { return rejection; }
+
+        private BigDecimal change() {
+            return type == Transaction.TransactionType.DEPOSIT ? amount : amount.negate();
+        }
+    }
+
+    public static final class TransferLeg {
+        private final Long toAccountId;
+        private final String toAccountNumber;
+        private final BigDecimal amount;
+        private final String description;
+
+        public TransferLeg(Long toAccountId, String toAccountNumber, BigDecimal amount, String description) {
+            this.toAccountId = toAccountId;
+            this.toAccountNumber = toAccountNumber;
+            this.amount = amount;
+            this.description = description;
+        }
+
+        public Long getToAccountId() { return toAccountId; }
+        public String getToAccountNumber() { return toAccountNumber; }
+        public BigDecimal getAmount() { return amount; }
+        public String getDescription() { return description; }
+    }
+}
@@ -11,7 +11,6 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 public class LoanService {
@@ -22,6 +21,12 @@ public class LoanService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NumberAllocator numberAllocator;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     public List<Loan> getLoansByUserId(Long userId) {
         return loanRepository.findByUserId(userId);
     }
@@ -44,7 +49,7 @@ public class LoanService {
         
         Loan loan = new Loan();
         loan.setUser(user);
-        loan.setLoanNumber(generateLoanNumber());
+        loan.setLoanNumber(numberAllocator.nextLoanNumber());
         loan.setLoanType(Loan.LoanType.valueOf(loanType.toUpperCase()));
         loan.setPrincipalAmount(amount);
         loan.setInterestRate(calculateInterestRate(loanType));
@@ -52,7 +57,9 @@ public class LoanService {
         loan.setStatus(Loan.LoanStatus.PENDING);
         loan.setApplicationDate(LocalDate.now());
 
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        dashboardStatsService.loanApplied(saved.getPrincipalAmount(), saved.getStatus());
+        return saved;
     }
 
     public Loan applyForLoanDetailed(Long customerId, String loanType, BigDecimal principalAmount, 
@@ -69,7 +76,7 @@ public class LoanService {
         
         Loan loan = new Loan();
         loan.setUser(user);
-        loan.setLoanNumber(generateLoanNumber());
+        loan.setLoanNumber(numberAllocator.nextLoanNumber());
         loan.setLoanType(Loan.LoanType.valueOf(loanType.toUpperCase()));
         loan.setPrincipalAmount(principalAmount);
         loan.setInterestRate(interestRate);
@@ -81,7 +88,9 @@ public class LoanService {
         BigDecimal monthlyPayment = calculateMonthlyPayment(principalAmount, interestRate, termMonths);
         loan.setMonthlyPayment(monthlyPayment);
 
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        dashboardStatsService.loanApplied(saved.getPrincipalAmount(), saved.getStatus());
+        return saved;
     }
 
     private BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal annualRate, Integer termMonths) {
@@ -99,15 +108,6 @@ public class LoanService {
         return numerator.divide(denominator, 2, java.math.RoundingMode.HALF_UP);
     }
 
-    private String generateLoanNumber() {
-        String loanNumber;
-        do {
-            loanNumber = "LOAN" + String.format("%08d", new Random().nextInt(100000000));
-        } while (loanRepository.existsByLoanNumber(loanNumber));
-        
-        return loanNumber;
-    }
-
     private BigDecimal calculateInterestRate(String loanType) {
         switch (loanType.toUpperCase()) {
             case "HOME":
@@ -123,10 +123,13 @@ public class LoanService {
 
     public Loan updateLoanStatus(String loanNumber, String status) {
         Loan loan = getLoanByNumber(loanNumber);
+        Loan.LoanStatus previousStatus = loan.getStatus();
         loan.setStatus(Loan.LoanStatus.valueOf(status.toUpperCase()));
         if ("APPROVED".equals(status)) {
             loan.setApprovalDate(LocalDate.now());
         }
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        dashboardStatsService.loanStatusChanged(previousStatus, saved.getStatus());
+        return saved;
     }
 }
@@ -0,0 +1,121 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.NumberSequence;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.NumberSequenceRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Account and loan numbers handed out from blocks reserved in number_sequences. Each node reserves
+// block-size values at a time in its own short transaction and then serves them from memory, so numbers
+// never collide across nodes and creation needs no existence checks. Values left in a block when the
+// process stops are skipped, so numbers are unique and increasing but not gap-free.
+@Service
+public class NumberAllocator {
+
+    // New numbers start above the range of the old randomly generated ones, so the two cannot overlap
+    private final Sequence account = new Sequence("account_number", "ACC", 1_000_000_000L, 10);
+    private final Sequence loan = new Sequence("loan_number", "LOAN", 100_000_000L, 9);
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    @Value("${numbers.block-size:100}")
+    private int blockSize;
+
+    @Autowired
+    private NumberSequenceRepository numberSequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate reserveTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Never joins the caller's transaction, so the sequence row lock is held only for the reservation
+        reserveTemplate = new TransactionTemplate(transactionManager);
+        reserveTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextAccountNumber() {
+        return account.format(next(account));
+    }
+
+    public String nextLoanNumber() {
+        return loan.format(next(loan));
+    }
+
+    private long next(Sequence sequence) {
+        while (true) {
+            Block block = sequence.block;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            synchronized (sequence) {
+                // Only the first thread to find the block exhausted reserves a new one
+                if (sequence.block == block) {
+                    sequence.block = reserve(sequence);
+                }
+            }
+        }
+    }
+
+    private Block reserve(Sequence sequence) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = reserveTemplate.execute(status -> {
+                    NumberSequence row = numberSequenceRepository.findByNameForUpdate(sequence.name)
+                        .orElseGet(() -> numberSequenceRepository.saveAndFlush(
+                            new NumberSequence(sequence.name, sequence.firstValue)));
+                    long first = row.getNextValue();
+                    row.setNextValue(first + blockSize);
+                    return first;
+                });
+                return new Block(start, start + blockSize);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; lock it on the next attempt
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private static final class Sequence {
+        private final String name;
+        private final String prefix;
+        private final long firstValue;
+        private final String pattern;
+        // Starts empty so the first call reserves a block
+        private volatile Block block = new Block(0, 0);
+
+        private Sequence(String name, String prefix, long firstValue, int digits) {
+            this.name = name;
+            this.prefix = prefix;
+            this.firstValue = firstValue;
+            this.pattern = "%0" + digits + "d";
+        }
+
+        private String format(long value) {
+            return prefix + String.format(pattern, value);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs BCrypt hashing and verification on a small dedicated pool so a burst of logins cannot occupy the
+// request threads every other endpoint needs. The queue is bounded: once it is full new work fails at once
+// with a RejectedExecutionException, which the controllers turn into 503 with Retry-After.
+@Service
+public class PasswordHashingService {
+
+    @Value("${security.password.workers:2}")
+    private int workers;
+
+    @Value("${security.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Hashes on the pool and waits, for the rare callers that cannot continue asynchronously
+    public String hashAndWait(String rawPassword) {
+        try {
+            return hash(rawPassword).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing the password");
+        }
+    }
+
+    // On a match with a hash weaker than the current strength, the result carries a replacement hash
+    public CompletableFuture<Verification> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (rawPassword == null || encodedPassword == null || !passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword)
+                ? passwordEncoder.encode(rawPassword) : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    // Futures completed on the pool wrap failures in CompletionException; this returns the original
+    public static Throwable causeOf(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        // Keep the request id on log lines written while the work runs
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    return work.get();
+                } finally {
+                    MDC.clear();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                new RejectedExecutionException("Too many password requests in progress, please retry"));
+        }
+    }
+
+    public static final class Verification {
+        private final boolean matched;
+        private final String upgradedHash;
+
+        private Verification(boolean matched, String upgradedHash) {
+            this.matched = matched;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean isMatched() { return matched; }
+
+        // Null unless the stored hash should be replaced
+        public String getUpgradedHash() { return upgradedHash; }
+    }
+}
@@ -0,0 +1,109 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Short-lived cache of the principals JwtAuthenticationFilter builds, so an authenticated request needs no
+// database round trip. AdminService invalidates an email whenever a status change or delete could revoke
+// access; the TTL bounds how long another instance keeps serving a principal it has not been told about.
+@Service
+public class PrincipalCache {
+
+    public enum Realm { USER, ADMIN }
+
+    @Value("${security.principal-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a load that overlapped one is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Returns the cached principal or loads it; a null result is not cached
+    public UserDetails get(Realm realm, String email, Supplier<UserDetails> loader) {
+        String key = key(realm, email);
+        long now = System.currentTimeMillis();
+        Entry cached = principals.get(key);
+        if (cached != null && cached.expiresAtMillis > now) {
+            hits.increment();
+            return cached.principal;
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        UserDetails loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        // The filter never needs the password hash, so it is not kept in memory
+        UserDetails principal = User.withUserDetails(loaded).password("").build();
+        if (principals.size() >= maxEntries) {
+            evictExpired();
+        }
+        if (principals.size() < maxEntries) {
+            principals.put(key, new Entry(principal, now + ttlMs));
+            if (generation.get() != loadGeneration) {
+                principals.remove(key);
+            }
+        }
+        return principal;
+    }
+
+    // Drops the principals cached for an email in every realm
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        for (Realm realm : Realm.values()) {
+            principals.remove(key(realm, email));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.principal-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        principals.values().removeIf(entry -> entry.expiresAtMillis <= now);
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("entries", principals.size());
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return statistics;
+    }
+
+    private String key(Realm realm, String email) {
+        return realm.name() + ":" + email;
+    }
+
+    private static final class Entry {
+        private final UserDetails principal;
+        private final long expiresAtMillis;
+
+        private Entry(UserDetails principal, long expiresAtMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
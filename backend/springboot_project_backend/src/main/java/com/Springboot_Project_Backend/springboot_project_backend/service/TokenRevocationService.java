@@ -0,0 +1,232 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.JwtClaims;
+import com.Springboot_Project_Backend.springboot_project_backend.config.JwtUtil;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.RevokedToken;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.RevokedTokenRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Revocation list for JWTs: single tokens (logout) and subjects (suspension, deletion, the admin kill switch,
+// which revoke every token issued to an email until then). Subjects are scoped to a realm, so revoking a user
+// leaves an admin with the same email signed in. Every request is checked against a Bloom filter
+// first; the exact maps are only consulted when the filter reports a possible hit, so a valid token costs a
+// few bit lookups. Revocations are stored in revoked_tokens; the filter is rebuilt from there at startup and
+// periodically, which drops expired entries and picks up revocations made on other instances.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String SUBJECT_PREFIX = "s:";
+
+    @Value("${security.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${security.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private volatile RevocationList revocations;
+
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    // The realm is the one the token is being used in (admin or user endpoints)
+    public boolean isRevoked(JwtClaims claims, PrincipalCache.Realm realm) {
+        RevocationList current = revocations;
+        String subject = subjectKey(realm, claims.getSubject());
+        boolean tokenHit = current.filter.mightContain(TOKEN_PREFIX + claims.getTokenHash());
+        boolean subjectHit = current.filter.mightContain(SUBJECT_PREFIX + subject);
+        if (!tokenHit && !subjectHit) {
+            return false;
+        }
+        filterHits.increment();
+        if (tokenHit && current.tokens.containsKey(claims.getTokenHash())) {
+            return true;
+        }
+        if (subjectHit) {
+            Long cutoff = current.subjects.get(subject);
+            if (cutoff != null && claims.getIssuedAtMillis() < cutoff) {
+                return true;
+            }
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    // Revokes one token until it expires
+    public void revokeToken(JwtClaims claims) {
+        long now = System.currentTimeMillis();
+        long expiresAt = claims.getExpiresAtMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        addToken(claims.getTokenHash(), expiresAt);
+        revokedTokenRepository.save(new RevokedToken(RevokedToken.RevocationType.TOKEN, claims.getTokenHash(),
+            toDateTime(now), toDateTime(expiresAt)));
+    }
+
+    // Revokes every token issued to the email in the realm so far; tokens issued afterwards are unaffected.
+    // The row is written in the caller's transaction and takes effect here once that commits, so a rolled
+    // back suspension or delete revokes nothing.
+    public void revokeSubject(PrincipalCache.Realm realm, String email) {
+        // Issue times have whole-second precision, so the cutoff covers the rest of the current second; a
+        // token issued later within it is rejected once and the client signs in again
+        long cutoff = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        String subject = subjectKey(realm, email);
+        revokedTokenRepository.save(new RevokedToken(RevokedToken.RevocationType.SUBJECT, subject,
+            toDateTime(cutoff), toDateTime(cutoff + jwtUtil.getTokenLifetimeMillis())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addSubject(subject, cutoff);
+                }
+            });
+        } else {
+            addSubject(subject, cutoff);
+        }
+        logger.info("Revoked all tokens of a subject");
+    }
+
+    // Reloads the list from the database into a freshly sized filter. Revocations made here while the rows
+    // were loading are carried over, so none is lost in the swap.
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval-ms:300000}",
+        initialDelayString = "${security.revocation.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        synchronized (this) {
+            RevocationList previous = revocations;
+            int size = rows.size() + (previous == null ? 0 : previous.size());
+            RevocationList rebuilt = new RevocationList(new BloomFilter(
+                Math.max(expectedEntries, size * 2), falsePositiveRate));
+            for (RevokedToken row : rows) {
+                if (row.getType() == RevokedToken.RevocationType.TOKEN) {
+                    rebuilt.addToken(row.getRevocationKey(), toMillis(row.getExpiresAt()));
+                } else if (row.getRevocationKey().startsWith(PrincipalCache.Realm.USER + ":")
+                        || row.getRevocationKey().startsWith(PrincipalCache.Realm.ADMIN + ":")) {
+                    rebuilt.addSubject(row.getRevocationKey(), toMillis(row.getRevokedAt()),
+                        toMillis(row.getExpiresAt()));
+                } else {
+                    // Written before subjects were scoped to a realm; keep covering both
+                    for (PrincipalCache.Realm realm : PrincipalCache.Realm.values()) {
+                        rebuilt.addSubject(subjectKey(realm, row.getRevocationKey()), toMillis(row.getRevokedAt()),
+                            toMillis(row.getExpiresAt()));
+                    }
+                }
+            }
+            if (previous != null) {
+                previous.copyLiveEntriesTo(rebuilt, System.currentTimeMillis());
+            }
+            revocations = rebuilt;
+        }
+        if (deleted > 0) {
+            logger.debug("Dropped {} expired token revocations", deleted);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        RevocationList current = revocations;
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("revokedTokens", current.tokens.size());
+        statistics.put("revokedSubjects", current.subjects.size());
+        statistics.put("filterHits", filterHits.sum());
+        statistics.put("falsePositives", falsePositives.sum());
+        return statistics;
+    }
+
+    private synchronized void addToken(String tokenHash, long expiresAt) {
+        revocations.addToken(tokenHash, expiresAt);
+    }
+
+    private synchronized void addSubject(String subject, long cutoff) {
+        revocations.addSubject(subject, cutoff, cutoff + jwtUtil.getTokenLifetimeMillis());
+    }
+
+    private static String subjectKey(PrincipalCache.Realm realm, String email) {
+        return realm + ":" + email;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Entries go into the exact maps before the filter, so a filter hit always finds its entry
+    private static final class RevocationList {
+        private final BloomFilter filter;
+        // Token hash -> expiry
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        // Realm-scoped email -> cutoff: tokens issued before it are revoked
+        private final Map<String, Long> subjects = new ConcurrentHashMap<>();
+        private final Map<String, Long> subjectExpiries = new ConcurrentHashMap<>();
+
+        private RevocationList(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        private void addToken(String tokenHash, long expiresAt) {
+            tokens.merge(tokenHash, expiresAt, Math::max);
+            filter.put(TOKEN_PREFIX + tokenHash);
+        }
+
+        private void addSubject(String email, long cutoff, long expiresAt) {
+            subjects.merge(email, cutoff, Math::max);
+            subjectExpiries.merge(email, expiresAt, Math::max);
+            filter.put(SUBJECT_PREFIX + email);
+        }
+
+        private void copyLiveEntriesTo(RevocationList target, long now) {
+            tokens.forEach((tokenHash, expiresAt) -> {
+                if (expiresAt > now) {
+                    target.addToken(tokenHash, expiresAt);
+                }
+            });
+            subjects.forEach((email, cutoff) -> {
+                Long expiresAt = subjectExpiries.get(email);
+                if (expiresAt != null && expiresAt > now) {
+                    target.addSubject(email, cutoff, expiresAt);
+                }
+            });
+        }
+
+        private int size() {
+            return tokens.size() + subjects.size();
+        }
+    }
+}
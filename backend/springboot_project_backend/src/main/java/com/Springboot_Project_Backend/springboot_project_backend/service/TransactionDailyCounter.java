@@ -0,0 +1,233 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.TransactionDailyCount;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionDailyCountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Transactions per calendar day, kept in transaction_daily_counts by the same database transaction that
+// inserts the rows, so a day's figure is exact and reading it touches a handful of counter rows instead of
+// transactions. Each day is spread over `slots` rows and every writing transaction bumps one at random just
+// before it commits, so concurrent writers rarely queue on the same row lock.
+@Service
+public class TransactionDailyCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionDailyCounter.class);
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    @Value("${transactions.daily-count.slots:16}")
+    private int slots;
+
+    @Autowired
+    private TransactionDailyCountRepository dailyCountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate ownTemplate;
+
+    // Days known to have all their counter rows
+    private final Set<LocalDate> preparedDays = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        ownTemplate = new TransactionTemplate(transactionManager);
+        ownTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        backfill();
+        prepareDays();
+    }
+
+    public void recorded(Transaction transaction) {
+        record(transaction.getTransactionDate().toLocalDate(), 1);
+    }
+
+    public void recorded(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            record(transaction.getTransactionDate().toLocalDate(), 1);
+        }
+    }
+
+    // Takes [day, count] rows such as TransactionRepository.countPerDayByUserId returns
+    public void removed(List<Object[]> countsPerDay) {
+        for (Object[] row : countsPerDay) {
+            record((LocalDate) row[0], -((Number) row[1]).longValue());
+        }
+    }
+
+    public long countOn(LocalDate day) {
+        return dailyCountRepository.sumByDay(day);
+    }
+
+    // Every day from `from` to `to` inclusive, zero where nothing was recorded
+    public Map<LocalDate, Long> countsBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            counts.put(day, 0L);
+        }
+        for (Object[] row : dailyCountRepository.sumByDayBetween(from, to)) {
+            counts.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    // Resets a day's counters to a count of its transaction rows, for repairs. The counter rows are locked
+    // before the rows are counted, so writers committing meanwhile add their share after the reset.
+    public long recount(LocalDate day) {
+        ensureDay(day);
+        return ownTemplate.execute(status -> {
+            for (int slot = 0; slot < slots; slot++) {
+                dailyCountRepository.increment(day, slot, 0);
+            }
+            long counted = transactionRepository.countTransactionsOn(day);
+            long current = dailyCountRepository.sumByDay(day);
+            dailyCountRepository.increment(day, 0, counted - current);
+            logger.info("Recounted transactions for {}: {} (was {})", day, counted, current);
+            return counted;
+        });
+    }
+
+    // Creates the rows for today and tomorrow ahead of the first writer
+    @Scheduled(fixedDelayString = "${transactions.daily-count.prepare-interval-ms:3600000}",
+        initialDelayString = "${transactions.daily-count.prepare-interval-ms:3600000}")
+    public void prepareDays() {
+        LocalDate today = LocalDate.now();
+        preparedDays.removeIf(day -> day.isBefore(today.minusDays(1)));
+        ensureDay(today);
+        ensureDay(today.plusDays(1));
+    }
+
+    private void record(LocalDate day, long count) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            int slot = randomSlot();
+            ownTemplate.executeWithoutResult(status -> increment(day, slot, count));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<LocalDate, Long> pending = (Map<LocalDate, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<LocalDate, Long> counts = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, counts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // One slot for the whole transaction, days in order, so two writers lock rows in the same order
+                    int slot = randomSlot();
+                    counts.forEach((day, delta) -> {
+                        if (delta != 0) {
+                            increment(day, slot, delta);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionDailyCounter.this);
+                }
+            });
+            pending = counts;
+        }
+        pending.merge(day, count, Long::sum);
+    }
+
+    private void increment(LocalDate day, int slot, long count) {
+        // The rows are created first, in their own transaction: an update that matched nothing would leave a
+        // gap lock in this one that the insert would then wait on
+        ensureDay(day);
+        if (dailyCountRepository.increment(day, slot, count) == 0) {
+            throw new IllegalStateException("Missing transaction counter row for " + day);
+        }
+    }
+
+    private void ensureDay(LocalDate day) {
+        if (preparedDays.contains(day)) {
+            return;
+        }
+        // Rare, so one creator per instance; other instances are caught by the unique constraint
+        synchronized (preparedDays) {
+            if (!preparedDays.contains(day)) {
+                createDay(day);
+                preparedDays.add(day);
+            }
+        }
+    }
+
+    private void createDay(LocalDate day) {
+        try {
+            ownTemplate.executeWithoutResult(status -> {
+                Set<Integer> existing = new HashSet<>(dailyCountRepository.findSlotIndexesByDay(day));
+                List<TransactionDailyCount> missing = new ArrayList<>();
+                for (int slot = 0; slot < slots; slot++) {
+                    if (!existing.contains(slot)) {
+                        missing.add(new TransactionDailyCount(day, slot, 0L));
+                    }
+                }
+                dailyCountRepository.saveAllAndFlush(missing);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created them first
+        }
+    }
+
+    // First start with this table: fill it from one pass over the existing transactions
+    private void backfill() {
+        if (dailyCountRepository.count() > 0) {
+            return;
+        }
+        try {
+            int days = ownTemplate.execute(status -> {
+                List<TransactionDailyCount> rows = new ArrayList<>();
+                for (Object[] row : transactionRepository.countPerDay()) {
+                    rows.add(new TransactionDailyCount((LocalDate) row[0], 0, ((Number) row[1]).longValue()));
+                }
+                dailyCountRepository.saveAll(rows);
+                return rows.size();
+            });
+            if (days > 0) {
+                logger.info("Backfilled transaction counts for {} days", days);
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Transaction counts were backfilled by another instance");
+        }
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(slots);
+    }
+}
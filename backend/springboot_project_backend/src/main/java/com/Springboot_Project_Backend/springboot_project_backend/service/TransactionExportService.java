@@ -0,0 +1,130 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER =
+        "id,transactionId,accountNumber,type,amount,description,transactionDate,status,referenceNumber";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static ExportFormat from(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return ExportFormat.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportByUserId(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> rows = transactionRepository.streamByUserId(userId)) {
+            write(rows, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportByAccountId(Long accountId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> rows = transactionRepository.streamByAccountId(accountId)) {
+            write(rows, format, out);
+        }
+    }
+
+    private void write(Stream<Transaction> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(Transaction.class);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        Iterable<Transaction> iterable = rows::iterator;
+        for (Transaction transaction : iterable) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, transaction);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(transaction));
+                writer.write('\n');
+            }
+            // Keep the persistence context from growing with the result set
+            entityManager.detach(transaction);
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(csv(transaction.getTransactionId()));
+        writer.write(',');
+        writer.write(csv(transaction.getAccount() != null ? transaction.getAccount().getAccountNumber() : null));
+        writer.write(',');
+        writer.write(csv(transaction.getType() != null ? transaction.getType().name() : null));
+        writer.write(',');
+        writer.write(transaction.getAmount() != null ? transaction.getAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(csv(transaction.getDescription()));
+        writer.write(',');
+        writer.write(transaction.getTransactionDate() != null ? transaction.getTransactionDate().toString() : "");
+        writer.write(',');
+        writer.write(csv(transaction.getStatus() != null ? transaction.getStatus().name() : null));
+        writer.write(',');
+        writer.write(csv(transaction.getReferenceNumber()));
+        writer.write('\n');
+    }
+
+    // Also used for the admin listing exports
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -1,27 +1,59 @@
 package com.Springboot_Project_Backend.springboot_project_backend.service;
 
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionCursor;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionPage;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.exception.TransactionOutcomeUnknownException;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private LedgerPostingService ledgerPostingService;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private GroupCommitStage groupCommitStage;
+
+    @Value("${ledger.await-timeout-ms:30000}")
+    private long awaitTimeoutMs;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public List<Transaction> getTransactionsByAccountId(Long accountId) {
         return transactionRepository.findByAccountId(accountId);
     }
@@ -35,14 +67,67 @@ public class TransactionService {
     }
 
     public boolean isAccountOwnedByUser(Long accountId, Long userId) {
-        List<Account> userAccounts = accountRepository.findByUserId(userId);
-        return userAccounts.stream().anyMatch(account -> account.getId().equals(accountId));
+        return accountDirectory.isOwnedBy(accountId, userId);
     }
 
     public List<Transaction> getTransactionsByUserId(Long userId) {
         return transactionRepository.findByAccount_User_IdOrderByTransactionDateDesc(userId);
     }
 
+    // One page-sized index range per account, merged: filtering on the user instead would make the database
+    // gather and sort every row the user has before applying the limit
+    public TransactionPage getTransactionPageByUserId(Long userId, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        TransactionCursor after = decodeCursor(cursor);
+        List<Transaction> rows = new ArrayList<>();
+        for (Long accountId : accountRepository.findIdsByUserId(userId)) {
+            rows.addAll(pageOfAccount(accountId, after, size));
+        }
+        rows.sort(Comparator.comparing(Transaction::getTransactionDate)
+            .thenComparing(Transaction::getId).reversed());
+        return toPage(rows.size() > size + 1 ? rows.subList(0, size + 1) : rows, size);
+    }
+
+    public TransactionPage getTransactionPageByAccountId(Long accountId, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        return toPage(pageOfAccount(accountId, decodeCursor(cursor), size), size);
+    }
+
+    // Fetches one extra row to know whether another page exists
+    private List<Transaction> pageOfAccount(Long accountId, TransactionCursor after, int size) {
+        Pageable window = PageRequest.of(0, size + 1);
+        if (after == null) {
+            return transactionRepository.findFirstPageByAccountId(accountId, window);
+        }
+        return transactionRepository.findPageByAccountIdBefore(
+            accountId, after.getTransactionDate(), after.getId(), window);
+    }
+
+    private static TransactionCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private TransactionPage toPage(List<Transaction> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<Transaction> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        return new TransactionPage(page, nextCursor, hasMore);
+    }
+
     public Transaction getTransactionById(Long transactionId) {
         Optional<Transaction> transactionOpt = transactionRepository.findById(transactionId);
         if (transactionOpt.isEmpty()) {
@@ -51,106 +136,91 @@ public class TransactionService {
         return transactionOpt.get();
     }
 
-    @Transactional
     public Transaction createTransaction(String accountNumber, String transactionType, BigDecimal amount, String description) {
-        Optional<Account> accountOpt = accountRepository.findByAccountNumber(accountNumber);
-        if (accountOpt.isEmpty()) {
+        Optional<Long> accountIdOpt = accountDirectory.findIdByNumber(accountNumber);
+        if (accountIdOpt.isEmpty()) {
             throw new RuntimeException("Account not found");
         }
 
-        Account account = accountOpt.get();
-        return createTransactionForAccount(account, transactionType, amount, description);
+        return createTransaction(accountIdOpt.get(), transactionType, amount, description);
     }
 
+    // Not @Transactional: with the ledger engine enabled the caller must not hold a connection while it waits
     public Transaction createTransaction(Long accountId, String transactionType, BigDecimal amount, String description) {
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
-        if (accountOpt.isEmpty()) {
-            throw new RuntimeException("Account not found");
+        Transaction.TransactionType type = Transaction.TransactionType.valueOf(transactionType.toUpperCase());
+        if (ledgerEngine.isEnabled() || groupCommitStage.isEnabled()) {
+            return await(submitTransaction(accountId, type, amount, description));
         }
-
-        Account account = accountOpt.get();
-        return createTransactionForAccount(account, transactionType, amount, description);
+        return transactionTemplate.execute(status -> ledgerPostingService.post(accountId, type, amount, description));
     }
 
-    private Transaction createTransactionForAccount(Account account, String transactionType, BigDecimal amount, String description) {
-        
-        // Validate transaction
-        if ("WITHDRAWAL".equals(transactionType) || "TRANSFER".equals(transactionType)) {
-            if (account.getBalance().compareTo(amount) < 0) {
-                throw new RuntimeException("Insufficient funds");
-            }
+    public CompletableFuture<Transaction> submitTransaction(Long accountId, Transaction.TransactionType type,
+                                                            BigDecimal amount, String description) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.submitPosting(accountId, type, amount, description);
         }
-
-        // Create transaction record
-        Transaction transaction = new Transaction();
-        transaction.setAccount(account);
-        transaction.setType(Transaction.TransactionType.valueOf(transactionType.toUpperCase()));
-        transaction.setAmount(amount);
-        transaction.setDescription(description);
-        transaction.setTransactionDate(LocalDateTime.now());
-
-        // Update account balance
-        BigDecimal newBalance;
-        if ("DEPOSIT".equals(transactionType)) {
-            newBalance = account.getBalance().add(amount);
-        } else {
-            newBalance = account.getBalance().subtract(amount);
+        if (groupCommitStage.isEnabled()) {
+            return groupCommitStage.submit(accountId, type, amount, description);
+        }
+        try {
+            return CompletableFuture.completedFuture(transactionTemplate.execute(
+                status -> ledgerPostingService.post(accountId, type, amount, description)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        
-        account.setBalance(newBalance);
-        accountRepository.save(account);
-
-        return transactionRepository.save(transaction);
     }
 
-    @Transactional
     public Transaction transferFunds(Long fromAccountId, String toAccountNumber, BigDecimal amount, String description) {
         // Find source account
-        Optional<Account> fromAccountOpt = accountRepository.findById(fromAccountId);
-        if (fromAccountOpt.isEmpty()) {
+        Optional<String> fromAccountNumberOpt = accountDirectory.findNumberById(fromAccountId);
+        if (fromAccountNumberOpt.isEmpty()) {
             throw new RuntimeException("Source account not found");
         }
 
         // Find destination account by account number
-        Optional<Account> toAccountOpt = accountRepository.findByAccountNumber(toAccountNumber);
-        if (toAccountOpt.isEmpty()) {
+        Optional<Long> toAccountIdOpt = accountDirectory.findIdByNumber(toAccountNumber);
+        if (toAccountIdOpt.isEmpty()) {
             throw new RuntimeException("Destination account not found");
         }
 
-        Account fromAccount = fromAccountOpt.get();
-        Account toAccount = toAccountOpt.get();
+        String fromAccountNumber = fromAccountNumberOpt.get();
+        Long toAccountId = toAccountIdOpt.get();
 
-        // Validate sufficient funds
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient funds");
+        if (ledgerEngine.isEnabled()) {
+            return await(submitTransfer(
+                fromAccountId, fromAccountNumber, toAccountId, toAccountNumber, amount, description));
         }
+        return transactionTemplate.execute(status -> ledgerPostingService.transfer(
+            fromAccountId, fromAccountNumber, toAccountId, toAccountNumber, amount, description));
+    }
 
-        // Create debit transaction for source account
-        Transaction debitTransaction = new Transaction();
-        debitTransaction.setAccount(fromAccount);
-        debitTransaction.setType(Transaction.TransactionType.TRANSFER);
-        debitTransaction.setAmount(amount.negate()); // Negative for debit
-        debitTransaction.setDescription("Transfer to " + toAccountNumber + " - " + description);
-        debitTransaction.setTransactionDate(LocalDateTime.now());
-
-        // Create credit transaction for destination account
-        Transaction creditTransaction = new Transaction();
-        creditTransaction.setAccount(toAccount);
-        creditTransaction.setType(Transaction.TransactionType.TRANSFER);
-        creditTransaction.setAmount(amount); // Positive for credit
-        creditTransaction.setDescription("Transfer from " + fromAccount.getAccountNumber() + " - " + description);
-        creditTransaction.setTransactionDate(LocalDateTime.now());
-
-        // Update account balances
-        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-        toAccount.setBalance(toAccount.getBalance().add(amount));
-
-        // Save all changes
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
-        transactionRepository.save(debitTransaction);
-        transactionRepository.save(creditTransaction);
+    public CompletableFuture<Transaction> submitTransfer(Long fromAccountId, String fromAccountNumber, Long toAccountId,
+                                                         String toAccountNumber, BigDecimal amount, String description) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.submitTransfer(fromAccountId, fromAccountNumber, toAccountId, toAccountNumber, amount, description);
+        }
+        try {
+            return CompletableFuture.completedFuture(transactionTemplate.execute(status -> ledgerPostingService.transfer(
+                fromAccountId, fromAccountNumber, toAccountId, toAccountNumber, amount, description)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        return debitTransaction; // Return the debit transaction as confirmation
+    // Blocks until a submitted command is committed, rethrowing its failure unchanged
+    private Transaction await(CompletableFuture<Transaction> future) {
+        try {
+            return future.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransactionOutcomeUnknownException("Timed out waiting for the transaction to commit");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionOutcomeUnknownException("Interrupted while waiting for the transaction to commit");
+        }
     }
 }
@@ -4,25 +4,36 @@ import com.Springboot_Project_Backend.springboot_project_backend.dto.RegisterReq
 import com.Springboot_Project_Backend.springboot_project_backend.dto.UserResponse;
 import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
 import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserService implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -32,37 +43,69 @@ public class UserService implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
+                true,
+                true,
+                true,
+                user.getStatus() != User.UserStatus.SUSPENDED,
                 new ArrayList<>() // No authorities/roles for now
         );
     }
 
-    public UserResponse registerUser(RegisterRequest request) {
-        System.out.println("Registering user: " + request.getEmail());
-        System.out.println("Phone number: " + request.getPhoneNumber());
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+    // The password is hashed on the hashing pool; the user is saved once the hash is ready
+    public CompletableFuture<UserResponse> registerUser(RegisterRequest request) {
+        try {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new RuntimeException("Email already exists");
+            }
+
+            User user = new User();
+            user.setFirstName(request.getFirstName());
+            user.setLastName(request.getLastName());
+            user.setEmail(request.getEmail());
+            user.setPhoneNumber(request.getPhoneNumber());
+            if (request.getDateOfBirth() != null && !request.getDateOfBirth().isEmpty()) {
+                user.setDateOfBirth(java.time.LocalDate.parse(request.getDateOfBirth()));
+            }
+            user.setAddress(request.getAddress());
+            user.setCity(request.getCity());
+            user.setState(request.getState());
+            user.setPinCode(request.getPinCode());
+
+            return passwordHashingService.hash(request.getPassword()).thenApply(hash -> {
+                user.setPassword(hash);
+                User savedUser = userRepository.save(user);
+                dashboardStatsService.userAdded(savedUser.getStatus());
+                logger.info("Registered user {}", savedUser.getId());
+                return new UserResponse(savedUser);
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
 
-        User user = new User();
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setPhoneNumber(request.getPhoneNumber());
-        if (request.getDateOfBirth() != null && !request.getDateOfBirth().isEmpty()) {
-            user.setDateOfBirth(java.time.LocalDate.parse(request.getDateOfBirth()));
+    // Completes with the user when the password matches and empty otherwise, whether the email is unknown or
+    // the password wrong. A hash below the current BCrypt strength is replaced on the way.
+    public CompletableFuture<Optional<User>> authenticate(String email, String rawPassword) {
+        Optional<User> userOpt;
+        try {
+            userOpt = userRepository.findByEmail(email);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        user.setAddress(request.getAddress());
-        user.setCity(request.getCity());
-        user.setState(request.getState());
-        user.setPinCode(request.getPinCode());
-
-        System.out.println("Saving user to database...");
-        User savedUser = userRepository.save(user);
-        System.out.println("User saved with ID: " + savedUser.getId());
 
-        return new UserResponse(savedUser);
+        User user = userOpt.get();
+        return passwordHashingService.verify(rawPassword, user.getPassword()).thenApply(verification -> {
+            if (!verification.isMatched()) {
+                return Optional.empty();
+            }
+            if (verification.getUpgradedHash() != null) {
+                upgradePasswordHash(user, verification.getUpgradedHash());
+            }
+            return Optional.of(user);
+        });
     }
 
     public Optional<User> findByEmail(String email) {
@@ -73,8 +116,16 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id);
     }
 
-    public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+    // Skipped if the password changed since it was verified; a failed upgrade is retried on the next login
+    private void upgradePasswordHash(User user, String upgradedHash) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.findById(user.getId())
+                .filter(current -> current.getPassword().equals(user.getPassword()))
+                .ifPresent(current -> current.setPassword(upgradedHash)));
+            logger.debug("Upgraded password hash of user {}", user.getId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not upgrade password hash of user {}: {}", user.getId(), e.getMessage());
+        }
     }
 
     public User updateUser(Long userId, Map<String, String> updates) {
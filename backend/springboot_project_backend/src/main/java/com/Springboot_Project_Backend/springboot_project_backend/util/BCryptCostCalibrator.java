@@ -0,0 +1,38 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+// Picks the highest BCrypt cost whose hash time stays within a target on this machine. Each cost step doubles
+// the work, so only the lowest cost is timed and the rest is extrapolated.
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("BCrypt cost range must lie within 4..31");
+        }
+        String salt = BCrypt.gensalt(minCost);
+        // The first run pays for class loading and JIT, so keep the fastest of a few
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        return costWithin(targetMillis, fastestNanos / 1_000_000.0, minCost, maxCost);
+    }
+
+    private static int costWithin(long targetMillis, double minCostMillis, int minCost, int maxCost) {
+        int cost = minCost;
+        double millis = minCostMillis;
+        while (cost < maxCost && millis * 2 <= targetMillis) {
+            millis *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
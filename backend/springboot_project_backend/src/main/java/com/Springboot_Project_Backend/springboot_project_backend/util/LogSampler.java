@@ -0,0 +1,22 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lets through one in every `rate` calls, for debug events that would otherwise be written on every request.
+// Check the logger's level first so a disabled level costs nothing.
+public final class LogSampler {
+
+    private final int rate;
+    private final AtomicLong calls = new AtomicLong();
+
+    public LogSampler(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1");
+        }
+        this.rate = rate;
+    }
+
+    public boolean sample() {
+        return rate == 1 || calls.getAndIncrement() % rate == 0;
+    }
+}
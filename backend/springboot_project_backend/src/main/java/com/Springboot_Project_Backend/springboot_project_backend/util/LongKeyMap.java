@@ -0,0 +1,201 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+// Open-addressing hash map keyed by primitive longs (linear probing, load factor at most 1/2), so lookups
+// neither box the key nor chase a node per entry. Reads are optimistic and lock-free unless they overlap a
+// write; writes are serialized. Key 0 is reserved as the empty-slot marker, which suits entity ids.
+public final class LongKeyMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Keys and values are swapped together on resize so a reader never pairs arrays of different sizes
+    private volatile Table table = new Table(MIN_CAPACITY);
+    private int size;
+
+    public V get(long key) {
+        checkKey(key);
+        long stamp = lock.tryOptimisticRead();
+        V value = find(table, key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = find(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    // Returns the previous value, or null
+    public V put(long key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = slotOf(current, key);
+            @SuppressWarnings("unchecked")
+            V previous = (V) current.values[slot];
+            current.values[slot] = value;
+            current.keys[slot] = key;
+            if (previous == null && ++size * 2 > current.keys.length) {
+                table = current.resize(current.keys.length * 2);
+            }
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public V remove(long key) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = slotOf(current, key);
+            @SuppressWarnings("unchecked")
+            V previous = (V) current.values[slot];
+            if (previous != null) {
+                current.delete(slot);
+                size--;
+            }
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Removes every entry whose value matches; returns how many were removed
+    public int removeIf(Predicate<? super V> filter) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int removed = 0;
+            int slot = 0;
+            while (slot < current.keys.length) {
+                @SuppressWarnings("unchecked")
+                V value = (V) current.values[slot];
+                if (value != null && filter.test(value)) {
+                    // Backward shifting may move a later entry into this slot, so look at it again
+                    current.delete(slot);
+                    removed++;
+                } else {
+                    slot++;
+                }
+            }
+            size -= removed;
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new Table(MIN_CAPACITY);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // May run against a table that a writer is changing; the caller validates the stamp afterwards. The probe
+    // is bounded by the table length so a torn read cannot loop forever.
+    @SuppressWarnings("unchecked")
+    private V find(Table current, long key) {
+        long[] keys = current.keys;
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (int probes = 0; probes < keys.length; probes++) {
+            long candidate = keys[slot];
+            if (candidate == key) {
+                return (V) current.values[slot];
+            }
+            if (candidate == 0L) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    // The slot holding the key, or the empty slot where it belongs
+    private static int slotOf(Table current, long key) {
+        int mask = current.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (current.keys[slot] != 0L && current.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0L) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        private Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0L) {
+                    int slot = slotOf(resized, keys[i]);
+                    resized.keys[slot] = keys[i];
+                    resized.values[slot] = values[i];
+                }
+            }
+            return resized;
+        }
+
+        // Backward-shift deletion keeps every probe chain unbroken without tombstones
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != 0L) {
+                int home = hash(keys[next]) & mask;
+                // Move the entry back if its home slot does not lie cyclically within (gap, next]
+                boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+                if (movable) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = 0L;
+            values[gap] = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Keyed token buckets, each a single AtomicLong updated by compare-and-set. The bucket is kept in its
+// generic-cell-rate form: the long is the time at which the bucket will be full again, and a request is
+// allowed while that time is no more than one full bucket ahead of now. A bucket whose time has passed is
+// full and behaves exactly like a missing one, so idle keys can be dropped without changing any outcome.
+// Keys are spread over striped maps, each holding at most its share of maxKeys. A new key that finds its
+// stripe full of active buckets is counted against one overflow bucket per limit, shared by every untracked
+// key, so a flood of fresh keys is throttled together instead of slipping through.
+public final class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, AtomicLong>[] stripes;
+    private final Map<Limit, AtomicLong> overflow = new ConcurrentHashMap<>();
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(int maxKeys, LongSupplier nanoClock) {
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.nanoClock = nanoClock;
+    }
+
+    // Takes a token; returns 0 when one was available, otherwise the nanoseconds until one will be
+    public long tryAcquire(String key, Limit limit) {
+        long now = nanoClock.getAsLong();
+        Map<String, AtomicLong> stripe = stripeOf(key);
+        AtomicLong fullAt = stripe.get(key);
+        if (fullAt == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                evictIdle(stripe, now);
+            }
+            // Still full of active keys: charge the shared overflow bucket rather than track this key
+            if (stripe.size() >= maxKeysPerStripe) {
+                return take(overflow.computeIfAbsent(limit, l -> new AtomicLong(now)), limit, now);
+            }
+            fullAt = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        return take(fullAt, limit, now);
+    }
+
+    private static long take(AtomicLong fullAt, Limit limit, long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + limit.intervalNanos;
+            long excess = next - now - limit.windowNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (Map<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+        overflow.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static void evictIdle(Map<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    private Map<String, AtomicLong> stripeOf(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    // A bucket of `capacity` tokens refilled evenly over `periodSeconds`
+    public static final class Limit {
+        private final long intervalNanos;
+        private final long windowNanos;
+
+        public Limit(int capacity, long periodSeconds) {
+            if (capacity < 1 || periodSeconds < 1) {
+                throw new IllegalArgumentException("Rate limit capacity and period must be positive");
+            }
+            this.intervalNanos = Math.max(1, periodSeconds * 1_000_000_000L / capacity);
+            this.windowNanos = intervalNanos * capacity;
+        }
+
+        // "20/60" allows 20 requests per 60 seconds; blank or "0" means no limit and returns null
+        public static Limit parse(String spec) {
+            if (spec == null || spec.isBlank() || spec.trim().equals("0")) {
+                return null;
+            }
+            String[] parts = spec.trim().split("/");
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
+                }
+                return new Limit(Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Rate limit must look like <requests>/<seconds>: " + spec);
+            }
+        }
+    }
+}
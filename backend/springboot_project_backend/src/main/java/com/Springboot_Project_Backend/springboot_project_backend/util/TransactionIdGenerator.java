@@ -0,0 +1,6 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+// Source of Transaction.transactionId values; must be safe to call from any thread
+public interface TransactionIdGenerator {
+    String nextId();
+}
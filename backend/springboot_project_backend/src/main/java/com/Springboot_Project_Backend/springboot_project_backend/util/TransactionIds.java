@@ -0,0 +1,18 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+// Static access for code outside the Spring context, such as Transaction's @PrePersist callback.
+// IdGeneratorConfig installs the configured generator at startup.
+public final class TransactionIds {
+
+    private static volatile TransactionIdGenerator generator = new SnowflakeIdGenerator(0);
+
+    private TransactionIds() {}
+
+    public static String next() {
+        return generator.nextId();
+    }
+
+    public static void setGenerator(TransactionIdGenerator generator) {
+        TransactionIds.generator = generator;
+    }
+}
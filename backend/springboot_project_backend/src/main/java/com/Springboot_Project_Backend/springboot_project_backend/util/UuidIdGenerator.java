@@ -0,0 +1,12 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import java.util.UUID;
+
+// Random UUIDs, the original transactionId format
+public class UuidIdGenerator implements TransactionIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
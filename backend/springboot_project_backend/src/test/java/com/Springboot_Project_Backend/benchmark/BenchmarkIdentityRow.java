@@ -0,0 +1,25 @@
+package com.Springboot_Project_Backend.benchmark;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+// Transaction-shaped row for InsertBatchingBenchmark; ids come from an IDENTITY column
+@Entity
+@Table(name = "benchmark_identity_rows")
+public class BenchmarkIdentityRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount = new BigDecimal("125.50");
+
+    @Column(nullable = false)
+    private String description = "Transfer to ACC1000000001 - benchmark";
+}
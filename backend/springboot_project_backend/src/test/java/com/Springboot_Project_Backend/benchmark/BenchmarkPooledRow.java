@@ -0,0 +1,28 @@
+package com.Springboot_Project_Backend.benchmark;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+import java.math.BigDecimal;
+
+// Transaction-shaped row for InsertBatchingBenchmark; ids are allocated in blocks from id_generators
+@Entity
+@Table(name = "benchmark_pooled_rows")
+public class BenchmarkPooledRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "benchmark_pooled_rows_id")
+    @TableGenerator(name = "benchmark_pooled_rows_id", table = "id_generators", pkColumnName = "entity_name",
+        valueColumnName = "next_id", pkColumnValue = "benchmark_pooled_rows", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount = new BigDecimal("125.50");
+
+    @Column(nullable = false)
+    private String description = "Transfer to ACC1000000001 - benchmark";
+}
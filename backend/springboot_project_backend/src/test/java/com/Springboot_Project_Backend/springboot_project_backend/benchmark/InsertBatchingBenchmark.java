@@ -0,0 +1,99 @@
+package com.Springboot_Project_Backend.springboot_project_backend.benchmark;
+
+import com.Springboot_Project_Backend.benchmark.BenchmarkIdentityRow;
+import com.Springboot_Project_Backend.benchmark.BenchmarkPooledRow;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+// Insert throughput of IDENTITY ids against pooled table ids with JDBC batching, using rows shaped like
+// transactions. Not part of the normal build (the class name does not match the surefire includes).
+// The gap comes from network round trips, so measure against MySQL, using a scratch database because the run
+// creates and drops the application's tables:
+//   DATABASE_URL='jdbc:mysql://localhost:3306/banking_bench?rewriteBatchedStatements=true' \
+//   DB_USERNAME=... DB_PASSWORD=... mvn test -Dtest=InsertBatchingBenchmark \
+//     -Dspring.test.database.replace=none -Dbenchmark.dialect=org.hibernate.dialect.MySQLDialect
+// Plain `mvn test -Dtest=InsertBatchingBenchmark` runs on in-memory H2, which only shows the statement counts.
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=${benchmark.dialect:org.hibernate.dialect.H2Dialect}",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InsertBatchingBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int ROWS_PER_TRANSACTION = 500;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void compareIdentityWithPooledIds() throws SQLException {
+        String url;
+        try (Connection connection = dataSource.getConnection()) {
+            url = connection.getMetaData().getURL();
+        }
+        System.out.printf("database: %s%n", url);
+        if (url.startsWith("jdbc:h2:")) {
+            System.out.println("in-memory H2 has no network round trips, so rows/s understates the gap; "
+                + "compare the statement counts, or see the class comment to run against MySQL");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int round = 1; round <= ROUNDS; round++) {
+            statistics.clear();
+            long identity = insert(BenchmarkIdentityRow::new);
+            long identityStatements = statistics.getPrepareStatementCount();
+            statistics.clear();
+            long pooled = insert(BenchmarkPooledRow::new);
+            long pooledStatements = statistics.getPrepareStatementCount();
+            System.out.printf("round %d: identity %,d rows/s (%,d statements), pooled+batched %,d rows/s (%,d statements)%n",
+                round, identity, identityStatements, pooled, pooledStatements);
+        }
+    }
+
+    private long insert(Supplier<Object> rowFactory) {
+        long began = System.nanoTime();
+        for (int done = 0; done < ROWS; done += ROWS_PER_TRANSACTION) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                    entityManager.persist(rowFactory.get());
+                }
+            });
+        }
+        return ROWS * 1_000_000_000L / (System.nanoTime() - began);
+    }
+
+    // The row entities live outside the application package so other JPA tests never create their tables
+    @TestConfiguration
+    @EntityScan(basePackageClasses = { BenchmarkIdentityRow.class, Account.class })
+    static class BenchmarkEntities {
+    }
+}
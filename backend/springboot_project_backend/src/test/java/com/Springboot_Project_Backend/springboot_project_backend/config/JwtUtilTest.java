@@ -0,0 +1,59 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKey1234567890123456789012345678";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxEntries", 100);
+        jwtUtil.init();
+    }
+
+    @Test
+    void repeatedVerificationReturnsTheCachedClaims() {
+        String token = jwtUtil.generateToken("user@example.com", 42L);
+
+        JwtClaims first = jwtUtil.verify(token);
+        assertEquals("user@example.com", first.getSubject());
+        assertEquals(42L, first.getUserId());
+        assertSame(first, jwtUtil.verify(token));
+        assertEquals(42L, jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    void tamperedAndExpiredTokensAreRejected() {
+        String token = jwtUtil.generateToken("user@example.com", 42L);
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+
+        String expired = Jwts.builder()
+            .setSubject("user@example.com")
+            .setIssuedAt(new Date(System.currentTimeMillis() - 60_000))
+            .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(expired));
+    }
+}
@@ -0,0 +1,84 @@
+package com.Springboot_Project_Backend.springboot_project_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxKeys", 1000);
+        ReflectionTestUtils.setField(filter, "loginPerIp", "100/60");
+        ReflectionTestUtils.setField(filter, "loginPerEmail", "2/60");
+        ReflectionTestUtils.setField(filter, "adminLoginPerIp", "0");
+        ReflectionTestUtils.setField(filter, "adminLoginPerEmail", "0");
+        ReflectionTestUtils.setField(filter, "registerPerIp", "1/60");
+        ReflectionTestUtils.setField(filter, "transferPerIp", "0");
+        ReflectionTestUtils.setField(filter, "transferPerUser", "0");
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        filter.init();
+    }
+
+    @Test
+    void loginIsLimitedPerEmailAndTheBodyStillReachesTheController() throws Exception {
+        AtomicReference<String> body = new AtomicReference<>();
+        assertEquals(200, login("Victim@Example.com", body).getStatus());
+        assertEquals("{\"email\":\"Victim@Example.com\",\"password\":\"guess\"}", body.get());
+        assertEquals(200, login("victim@example.com ", body).getStatus());
+
+        body.set(null);
+        MockHttpServletResponse rejected = login("victim@example.com", body);
+        assertEquals(429, rejected.getStatus());
+        assertEquals("30", rejected.getHeader("Retry-After"));
+        assertNull(body.get());
+
+        // Another email from the same address is not affected
+        assertEquals(200, login("other@example.com", body).getStatus());
+    }
+
+    @Test
+    void registrationIsLimitedPerIpOnlyForPost() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/register", "{}").getStatus());
+        MockHttpServletResponse rejected = send("POST", "/api/auth/register", "{}");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(200, send("GET", "/api/auth/register", "").getStatus());
+    }
+
+    private MockHttpServletResponse login(String email, AtomicReference<String> body) throws Exception {
+        MockHttpServletRequest request = request("POST", "/api/auth/login",
+            "{\"email\":\"" + email + "\",\"password\":\"guess\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) ->
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String content) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, content), response, (req, res) -> { });
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String content) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("203.0.113.7");
+        request.setContentType("application/json");
+        request.setContent(content.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSearchCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.UserSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class UserDirectoryRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Test
+    void keysetPagesVisitEveryMatchingUserOnceInOrder() {
+        LocalDateTime noon = LocalDate.of(2024, 6, 1).atTime(12, 0);
+        User first = createUser("Zed", "a@example.com", User.UserStatus.ACTIVE, "Pune", noon.minusDays(2));
+        User second = createUser("Young", "b@example.com", User.UserStatus.SUSPENDED, "Pune", noon);
+        User third = createUser("Xu", "c@example.com", User.UserStatus.ACTIVE, "Delhi", noon);
+        User fourth = createUser("Wong", "d@example.com", User.UserStatus.ACTIVE, "Pune", noon.plusDays(1));
+
+        // Newest first; the two users created at the same instant are ordered by id
+        UserSearchCriteria criteria = new UserSearchCriteria();
+        assertEquals(List.of(fourth.getId(), third.getId(), second.getId(), first.getId()), walk(criteria, 3));
+
+        criteria.setSort(UserSearchCriteria.SortField.LAST_NAME);
+        criteria.setDescending(false);
+        assertEquals(List.of(fourth.getId(), third.getId(), second.getId(), first.getId()), walk(criteria, 1));
+
+        UserSearchCriteria filtered = new UserSearchCriteria();
+        filtered.setStatus(User.UserStatus.ACTIVE);
+        filtered.setCity("Pune");
+        assertEquals(List.of(fourth.getId(), first.getId()), walk(filtered, 1));
+
+        UserSearchCriteria created = new UserSearchCriteria();
+        created.setCreatedFrom(noon.toLocalDate());
+        created.setCreatedTo(noon.toLocalDate());
+        assertEquals(List.of(third.getId(), second.getId()), walk(created, 5));
+    }
+
+    @Test
+    void accountAndLoanCountsComeFromOneQueryPerPage() {
+        User holder = createUser("Holder", "holder@example.com", User.UserStatus.ACTIVE, "Pune", LocalDateTime.now());
+        User empty = createUser("Empty", "empty@example.com", User.UserStatus.ACTIVE, "Pune", LocalDateTime.now());
+        accountRepository.save(new Account("DIR0000000001", Account.AccountType.SAVINGS, holder));
+        accountRepository.save(new Account("DIR0000000002", Account.AccountType.CURRENT, holder));
+        loanRepository.save(new Loan("LN-DIR-1", Loan.LoanType.PERSONAL, new BigDecimal("1000.00"),
+            new BigDecimal("8.0"), 12, holder));
+
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Object[] row : userRepository.countAccountsAndLoansByUserIds(List.of(holder.getId(), empty.getId()))) {
+            counts.put((Long) row[0], new long[] {((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+        }
+        assertEquals(2, counts.get(holder.getId())[0]);
+        assertEquals(1, counts.get(holder.getId())[1]);
+        assertEquals(0, counts.get(empty.getId())[0]);
+        assertEquals(0, counts.get(empty.getId())[1]);
+    }
+
+    private List<Long> walk(UserSearchCriteria criteria, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        Object afterValue = null;
+        Long afterId = null;
+        while (true) {
+            List<UserSummary> page = userRepository.findUserSummaries(criteria, afterValue, afterId, pageSize);
+            page.forEach(summary -> ids.add(summary.getId()));
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            UserSummary last = page.get(page.size() - 1);
+            afterValue = criteria.getSort() == UserSearchCriteria.SortField.LAST_NAME ? last.getLastName() : last.getCreatedAt();
+            afterId = last.getId();
+        }
+    }
+
+    private User createUser(String lastName, String email, User.UserStatus status, String city, LocalDateTime createdAt) {
+        User user = new User("Test", lastName, email, "secret", "9876543210");
+        user.setStatus(status);
+        user.setCity(city);
+        user.setCreatedAt(createdAt);
+        return userRepository.save(user);
+    }
+}
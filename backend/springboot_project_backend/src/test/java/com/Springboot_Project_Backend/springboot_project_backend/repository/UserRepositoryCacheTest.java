@@ -0,0 +1,49 @@
+package com.Springboot_Project_Backend.springboot_project_backend.repository;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.CacheConfig;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void emailLookupsAreServedFromTheSecondLevelCacheAndSeeUpdates() {
+        User user = userRepository.save(new User("Cache", "User", "cache@example.com", "secret", "9876543210"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(user.getId(), userRepository.findByEmail("cache@example.com").orElseThrow().getId());
+        assertEquals(user.getId(), userRepository.findByEmail("cache@example.com").orElseThrow().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics("users-by-email").getHitCount() >= 2);
+        assertTrue(statistics.getCacheRegionStatistics("users").getHitCount() >= 2);
+
+        user.setCity("Pune");
+        userRepository.save(user);
+        assertEquals("Pune", userRepository.findByEmail("cache@example.com").orElseThrow().getCity());
+        assertTrue(userRepository.findByEmail("missing@example.com").isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AccountSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminListingCriteria;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.ListingPage;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.LoanSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionSummary;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AdminListingRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.LoanRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "admin.listing.stream-fetch-size=100",
+    "admin.suspicious.amount-threshold=5000"
+})
+@Import({AdminListingService.class, AdminListingRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminListingServiceTest {
+
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void transactionPagesFilterAndCarryTheOwner() {
+        User owner = userRepository.save(new User("Asha", "Rao", "asha.listing@example.com", "secret", "9876543210"));
+        User other = userRepository.save(new User("Ben", "Das", "ben.listing@example.com", "secret", "9876543211"));
+        Account account = createAccount("LST0000000001", owner, "10.00");
+        Account otherAccount = createAccount("LST0000000002", other, "10.00");
+        LocalDateTime start = LocalDate.of(2024, 7, 1).atTime(9, 0);
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ownerIds.add(0, transactionRepository.save(transaction(account, "100.00", start.plusHours(i))).getId());
+        }
+        transactionRepository.save(transaction(otherAccount, "9000.00", start));
+
+        AdminListingCriteria criteria = new AdminListingCriteria();
+        criteria.setOwnerEmail("asha.listing@example.com");
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ListingPage<TransactionSummary> page = adminListingService.listTransactions(criteria, cursor, 2);
+            page.getItems().forEach(row -> {
+                assertEquals("Asha Rao", row.getOwnerName());
+                assertEquals("LST0000000001", row.getAccountNumber());
+                seen.add(row.getId());
+            });
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(ownerIds, seen);
+
+        AdminListingCriteria filtered = new AdminListingCriteria();
+        filtered.setType("deposit");
+        filtered.setMinAmount(new BigDecimal("50"));
+        filtered.setFrom(start.toLocalDate());
+        filtered.setTo(start.toLocalDate());
+        filtered.setOwnerId(owner.getId());
+        assertEquals(5, adminListingService.listTransactions(filtered, null, 10).getItems().size());
+
+        ListingPage<TransactionSummary> suspicious =
+            adminListingService.listSuspiciousTransactions(new AdminListingCriteria(), null, null);
+        assertEquals(1, suspicious.getItems().size());
+        assertEquals("Ben Das", suspicious.getItems().get(0).getOwnerName());
+        assertFalse(suspicious.isHasMore());
+
+        AdminListingCriteria invalid = new AdminListingCriteria();
+        invalid.setStatus("NOT_A_STATUS");
+        assertThrows(IllegalArgumentException.class, () -> adminListingService.listTransactions(invalid, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> adminListingService.listTransactions(new AdminListingCriteria(), "not-a-cursor", null));
+    }
+
+    @Test
+    void accountsAndLoansListWithTheirOwnersAndExportAsCsv() throws Exception {
+        User owner = userRepository.save(new User("Chen", "Li", "chen.listing@example.com", "secret", "9876543212"));
+        createAccount("LST0000000003", owner, "1234.50");
+        Loan loan = new Loan("LN-LST-1", Loan.LoanType.HOME, new BigDecimal("250000.00"), new BigDecimal("7.5"), 240, owner);
+        loanRepository.save(loan);
+
+        AdminListingCriteria byOwner = new AdminListingCriteria();
+        byOwner.setOwnerId(owner.getId());
+        List<AccountSummary> accounts = adminListingService.listAccounts(byOwner, null, null).getItems();
+        assertEquals(1, accounts.size());
+        assertEquals(0, new BigDecimal("1234.50").compareTo(accounts.get(0).getBalance()));
+        assertEquals("Chen Li", accounts.get(0).getOwnerName());
+
+        AdminListingCriteria pending = new AdminListingCriteria();
+        pending.setStatus("PENDING");
+        pending.setOwnerId(owner.getId());
+        List<LoanSummary> loans = adminListingService.listLoans(pending, null, null).getItems();
+        assertEquals(1, loans.size());
+        assertEquals("chen.listing@example.com", loans.get(0).getOwnerEmail());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        adminListingService.exportAccounts(byOwner, TransactionExportService.ExportFormat.CSV, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,accountNumber,accountType,balance,"));
+        assertTrue(lines[1].contains(",LST0000000003,SAVINGS,1234.50,"));
+
+        out.reset();
+        adminListingService.exportLoans(pending, TransactionExportService.ExportFormat.NDJSON, out);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"loanNumber\":\"LN-LST-1\""));
+    }
+
+    private Account createAccount(String accountNumber, User user, String balance) {
+        Account account = new Account(accountNumber, Account.AccountType.SAVINGS, user);
+        account.setBalance(new BigDecimal(balance));
+        return accountRepository.save(account);
+    }
+
+    private Transaction transaction(Account account, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(Transaction.TransactionType.DEPOSIT);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("deposit");
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,14 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+// Same payment files routed through the sharded ledger engine instead of the JDBC credit batch
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "payments.bulk.chunk-size=3",
+    "ledger.engine.enabled=true",
+    "ledger.engine.shards=3"
+})
+class BulkPaymentEngineTest extends BulkPaymentServiceTest {
+}
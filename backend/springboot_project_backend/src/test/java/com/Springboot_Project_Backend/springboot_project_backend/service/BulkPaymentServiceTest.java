@@ -0,0 +1,96 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.CacheConfig;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentJobStatus;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.BulkPaymentLineResult;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "payments.bulk.chunk-size=3"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BulkPaymentService.class, LedgerPostingService.class, LedgerEngine.class, BalanceSlotService.class, BalanceCache.class,
+    AccountDirectory.class, DashboardStatsService.class,
+    TransactionDailyCounter.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkPaymentServiceTest {
+
+    @Autowired
+    private BulkPaymentService bulkPaymentService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void appliesEachLineAndFallsBackWhenChunkExceedsBalance() {
+        Account source = createAccount("BLK0000000001", "100.00");
+        Account first = createAccount("BLK0000000002", "0.00");
+        Account second = createAccount("BLK0000000003", "0.00");
+        String file = String.join("\n",
+            "toAccountNumber,amount,description",
+            "BLK0000000002,30.00,salary",
+            "BLK0000000003,30.00,\"salary, March\"",
+            "BLK0000000099,10.00,unknown",
+            "BLK0000000002,-5,negative",
+            "BLK0000000003,30.00,salary",
+            "BLK0000000002,30.00,does not fit");
+
+        List<BulkPaymentLineResult> results = new ArrayList<>();
+        BulkPaymentJobStatus summary = bulkPaymentService.process(source.getId(),
+            new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)),
+            BulkPaymentService.PaymentFileFormat.CSV, results::add);
+
+        List<String> statuses = results.stream().map(BulkPaymentLineResult::getStatus).toList();
+        assertEquals(List.of("COMPLETED", "COMPLETED", "FAILED", "FAILED", "COMPLETED", "FAILED"), statuses);
+        assertEquals("Destination account not found", results.get(2).getError());
+        assertEquals("Insufficient funds", results.get(5).getError());
+        assertEquals(3, summary.getSucceeded());
+        assertEquals(3, summary.getFailed());
+        assertEquals(0, new BigDecimal("90.00").compareTo(summary.getAmountTransferred()));
+
+        assertEquals(0, new BigDecimal("10.00").compareTo(balanceOf(source)));
+        assertEquals(0, new BigDecimal("30.00").compareTo(balanceOf(first)));
+        assertEquals(0, new BigDecimal("60.00").compareTo(balanceOf(second)));
+        assertEquals(3, transactionRepository.findByAccountId(source.getId()).size());
+    }
+
+    private Account createAccount(String accountNumber, String balance) {
+        User user = new User("Test", "User", accountNumber + "@example.com", "secret", "9876543210");
+        userRepository.save(user);
+        Account account = new Account(accountNumber, Account.AccountType.SAVINGS, user);
+        account.setBalance(new BigDecimal(balance));
+        return accountRepository.save(account);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
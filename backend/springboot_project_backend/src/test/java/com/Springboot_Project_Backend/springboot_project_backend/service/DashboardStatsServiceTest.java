@@ -0,0 +1,169 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminDashboardStats;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Loan;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.LoanRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({DashboardStatsService.class, TransactionDailyCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardStatsServiceTest {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reconciliationMatchesTheTablesAndHooksAddOnTop() {
+        User active = userRepository.save(new User("Active", "User", "active@example.com", "secret", "9876543210"));
+        User suspended = new User("Suspended", "User", "suspended@example.com", "secret", "9876543211");
+        suspended.setStatus(User.UserStatus.SUSPENDED);
+        userRepository.save(suspended);
+        Account account = createAccount("DSH0000000001", active, "100.50");
+        loanRepository.save(new Loan("LN-DSH-1", Loan.LoanType.PERSONAL, new BigDecimal("1000.00"),
+            new BigDecimal("8.0"), 12, active));
+        transactionDailyCounter.recorded(transactionRepository.save(deposit(account, "100.50")));
+
+        dashboardStatsService.reconcile();
+        AdminDashboardStats stats = dashboardStatsService.getStats();
+        assertEquals(userRepository.count(), stats.getTotalUsers());
+        assertEquals(userRepository.countByStatus(User.UserStatus.SUSPENDED), stats.getSuspendedUsers());
+        assertEquals(accountRepository.count(), stats.getTotalAccounts());
+        assertEquals(loanRepository.countByStatus(Loan.LoanStatus.PENDING), stats.getPendingLoans());
+        assertEquals(0, accountRepository.getTotalBalance().compareTo(stats.getTotalDeposits()));
+        assertEquals(0, loanRepository.getTotalLoanAmount().compareTo(stats.getTotalLoanAmount()));
+        assertEquals(transactionRepository.count(), stats.getTotalTransactions());
+        assertEquals(transactionRepository.count(), stats.getTodayTransactions());
+
+        // Written outside a transaction, so the hooks apply at once
+        createAccount("DSH0000000002", active, "49.50");
+        dashboardStatsService.accountOpened(new BigDecimal("49.50"));
+        Transaction saved = transactionRepository.save(deposit(account, "49.50"));
+        transactionDailyCounter.recorded(saved);
+        dashboardStatsService.transactionRecorded(saved);
+
+        AdminDashboardStats updated = dashboardStatsService.getStats();
+        assertEquals(stats.getTotalAccounts() + 1, updated.getTotalAccounts());
+        assertEquals(0, stats.getTotalDeposits().add(new BigDecimal("49.50")).compareTo(updated.getTotalDeposits()));
+        assertEquals(stats.getTotalTransactions() + 1, updated.getTotalTransactions());
+        assertEquals(stats.getTodayTransactions() + 1, updated.getTodayTransactions());
+
+        // Reconciling again finds the same figures: nothing is counted twice
+        dashboardStatsService.reconcile();
+        AdminDashboardStats reconciled = dashboardStatsService.getStats();
+        assertEquals(updated.getTotalAccounts(), reconciled.getTotalAccounts());
+        assertEquals(0, updated.getTotalDeposits().compareTo(reconciled.getTotalDeposits()));
+        assertEquals(updated.getTotalTransactions(), reconciled.getTotalTransactions());
+        assertEquals(updated.getTodayTransactions(), reconciled.getTodayTransactions());
+    }
+
+    @Test
+    void changesCountOnlyOnceTheirTransactionCommits() {
+        AdminDashboardStats before = dashboardStatsService.getStats();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardStatsService.balanceChanged(new BigDecimal("25.00"));
+            dashboardStatsService.userStatusChanged(User.UserStatus.ACTIVE, User.UserStatus.SUSPENDED);
+            assertEquals(0, before.getTotalDeposits().compareTo(dashboardStatsService.getStats().getTotalDeposits()));
+            status.setRollbackOnly();
+        });
+        AdminDashboardStats afterRollback = dashboardStatsService.getStats();
+        assertEquals(0, before.getTotalDeposits().compareTo(afterRollback.getTotalDeposits()));
+        assertEquals(before.getSuspendedUsers(), afterRollback.getSuspendedUsers());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardStatsService.balanceChanged(new BigDecimal("25.00"));
+            dashboardStatsService.balanceChanged(new BigDecimal("-5.25"));
+            dashboardStatsService.loanStatusChanged(Loan.LoanStatus.PENDING, Loan.LoanStatus.APPROVED);
+        });
+        AdminDashboardStats afterCommit = dashboardStatsService.getStats();
+        assertEquals(0, before.getTotalDeposits().add(new BigDecimal("19.75")).compareTo(afterCommit.getTotalDeposits()));
+        assertEquals(before.getPendingLoans() - 1, afterCommit.getPendingLoans());
+    }
+
+    @Test
+    void overwritesAreRecountedByTheSchedulerAndRowsCountOnTheirOwnDay() {
+        User owner = userRepository.save(new User("Dirty", "User", "dirty@example.com", "secret", "9876543212"));
+        Account account = createAccount("DSH0000000003", owner, "10.00");
+        dashboardStatsService.reconcile();
+        AdminDashboardStats before = dashboardStatsService.getStats();
+
+        // A balance overwritten outright: the commit only marks the figures dirty
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            account.setBalance(new BigDecimal("70.00"));
+            accountRepository.save(account);
+            dashboardStatsService.reconcileAfterCommit();
+        });
+        assertEquals(0, before.getTotalDeposits().compareTo(dashboardStatsService.getStats().getTotalDeposits()));
+        dashboardStatsService.reconcileIfDirty();
+        assertEquals(0, before.getTotalDeposits().add(new BigDecimal("60.00"))
+            .compareTo(dashboardStatsService.getStats().getTotalDeposits()));
+
+        // A row dated yesterday adds to the total but not to today's count
+        Transaction backdated = deposit(account, "1.00");
+        backdated.setTransactionDate(LocalDateTime.now().minusDays(1));
+        backdated = transactionRepository.save(backdated);
+        dashboardStatsService.transactionRecorded(backdated);
+        AdminDashboardStats after = dashboardStatsService.getStats();
+        assertEquals(before.getTotalTransactions() + 1, after.getTotalTransactions());
+        assertEquals(before.getTodayTransactions(), after.getTodayTransactions());
+        // The other tests expect every row to be dated today
+        transactionRepository.delete(backdated);
+    }
+
+    private Account createAccount(String accountNumber, User user, String balance) {
+        Account account = new Account(accountNumber, Account.AccountType.SAVINGS, user);
+        account.setBalance(new BigDecimal(balance));
+        return accountRepository.save(account);
+    }
+
+    private Transaction deposit(Account account, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(Transaction.TransactionType.DEPOSIT);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("deposit");
+        return transaction;
+    }
+}
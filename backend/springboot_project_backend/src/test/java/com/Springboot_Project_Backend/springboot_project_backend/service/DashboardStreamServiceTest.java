@@ -0,0 +1,169 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.dto.AdminDashboardStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardStreamServiceTest {
+
+    private DashboardStreamService service;
+
+    private final StubStatsService stats = new StubStatsService();
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void viewersShareOneReadPerTickAndReceiveOnlyChangedFigures() throws Exception {
+        service = start(8, 10);
+        List<RecordingEmitter> viewers = List.of(new RecordingEmitter(null), new RecordingEmitter(null),
+            new RecordingEmitter(null));
+        for (RecordingEmitter viewer : viewers) {
+            service.register(viewer);
+        }
+        assertEquals(1, stats.reads.get());
+        for (RecordingEmitter viewer : viewers) {
+            assertTrue(viewer.next().contains("\"totalUsers\":10"));
+        }
+
+        service.tick();
+        assertEquals(2, stats.reads.get());
+        for (RecordingEmitter viewer : viewers) {
+            assertNull(viewer.events.poll(100, TimeUnit.MILLISECONDS));
+        }
+
+        stats.current.setTotalUsers(11);
+        stats.current.setTotalDeposits(new BigDecimal("150.25"));
+        service.tick();
+        assertEquals(3, stats.reads.get());
+        for (RecordingEmitter viewer : viewers) {
+            assertEquals("{\"totalUsers\":11,\"totalDeposits\":150.25}", viewer.next());
+        }
+    }
+
+    @Test
+    void aViewerThatFallsBehindIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        service = start(2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        service.register(slow);
+        service.register(fast);
+        fast.next();
+
+        // The slow viewer's sender is stuck on the first event, so its buffer of two fills on the third delta
+        for (int i = 1; i <= 3; i++) {
+            stats.current.setTotalTransactions(i);
+            service.tick();
+            assertEquals("{\"totalTransactions\":" + i + "}", fast.next());
+        }
+        assertEquals(1, service.getClientCount());
+
+        release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void newViewersAreRefusedAtTheLimit() {
+        service = start(8, 1);
+        service.register(new RecordingEmitter(null));
+        assertThrows(RejectedExecutionException.class, () -> service.register(new RecordingEmitter(null)));
+    }
+
+    private DashboardStreamService start(int clientBuffer, int maxClients) {
+        DashboardStreamService started = new DashboardStreamService();
+        // The ticker is driven by hand
+        ReflectionTestUtils.setField(started, "intervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(started, "clientBuffer", clientBuffer);
+        ReflectionTestUtils.setField(started, "maxClients", maxClients);
+        ReflectionTestUtils.setField(started, "senders", 2);
+        ReflectionTestUtils.setField(started, "heartbeatMs", 3_600_000L);
+        ReflectionTestUtils.setField(started, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(started, "dashboardStatsService", stats);
+        ReflectionTestUtils.setField(started, "objectMapper", new ObjectMapper());
+        started.start();
+        return started;
+    }
+
+    private static final class StubStatsService extends DashboardStatsService {
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AdminDashboardStats current = new AdminDashboardStats(10, 9, 1, 12, 3, 2,
+            new BigDecimal("100.00"), new BigDecimal("5000.00"), 40, 4);
+
+        @Override
+        public AdminDashboardStats getStats() {
+            reads.incrementAndGet();
+            AdminDashboardStats copy = new AdminDashboardStats(current.getTotalUsers(), current.getActiveUsers(),
+                current.getSuspendedUsers(), current.getTotalAccounts(), current.getTotalLoans(),
+                current.getPendingLoans(), current.getTotalDeposits(), current.getTotalLoanAmount(),
+                current.getTotalTransactions(), current.getTodayTransactions());
+            return copy;
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        // The data line of each event, or the comment line of a keepalive
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("data:") || line.startsWith(":")) {
+                    events.add(line.startsWith(":") ? line : line.substring("data:".length()));
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            if (event == null) {
+                throw new AssertionError("No event received");
+            }
+            return event;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+// Same scenarios with deposits and withdrawals going through group commit
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "ledger.group-commit.enabled=true",
+    "ledger.group-commit.max-wait-ms=5"
+})
+class GroupCommitConcurrencyTest extends TransactionServiceConcurrencyTest {
+}
@@ -0,0 +1,144 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.IdempotencyRecord;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(IdempotencyService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void concurrentDuplicatesRunOnceAndReplayTheResponse() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        Map<String, Object> request = Map.of("accountId", 1, "amount", "10.00");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return idempotencyService.execute("key-1", "POST /api/transactions", request, () -> {
+                    executions.incrementAndGet();
+                    sleep(200);
+                    return ResponseEntity.ok(Map.of("id", executions.get()));
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<ResponseEntity<?>> future : futures) {
+            ResponseEntity<?> response = future.get();
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals("{\"id\":1}", response.getBody());
+        }
+        pool.shutdown();
+
+        assertEquals(1, executions.get());
+        assertEquals(1, idempotencyRecordRepository.count());
+
+        ResponseEntity<?> reused = idempotencyService.execute("key-1", "POST /api/transactions",
+            Map.of("accountId", 2, "amount", "10.00"), () -> ResponseEntity.ok("ran again"));
+        assertEquals(422, reused.getStatusCode().value());
+    }
+
+    @Test
+    void failedResponsesAreNotKept() {
+        Map<String, Object> request = Map.of("amount", "10.00");
+        ResponseEntity<?> first = idempotencyService.execute("key-2", "POST /api/transactions/transfer", request,
+            () -> ResponseEntity.badRequest().body(Map.of("error", "Insufficient funds")));
+        ResponseEntity<?> retry = idempotencyService.execute("key-2", "POST /api/transactions/transfer", request,
+            () -> ResponseEntity.ok(Map.of("message", "Transfer completed successfully")));
+
+        assertEquals(400, first.getStatusCode().value());
+        assertEquals(200, retry.getStatusCode().value());
+    }
+
+    @Test
+    void ambiguousFailuresKeepTheKey() {
+        AtomicInteger executions = new AtomicInteger();
+        Map<String, Object> request = Map.of("amount", "10.00");
+        ResponseEntity<?> first = idempotencyService.execute("key-3", "POST /api/transactions", request, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.internalServerError().body(Map.of("error", "Timed out waiting for the transaction to commit"));
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("key-3", "POST /api/transactions", request, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(Map.of("message", "Transaction created successfully"));
+        });
+
+        assertEquals(500, first.getStatusCode().value());
+        assertEquals(500, retry.getStatusCode().value());
+        assertTrue(retry.getBody().toString().contains("unknown"));
+        assertEquals(1, executions.get());
+        assertEquals(IdempotencyRecord.RecordStatus.UNKNOWN,
+            idempotencyRecordRepository.findByScopeKey("anonymous:key-3").orElseThrow().getStatus());
+        idempotencyRecordRepository.deleteByScopeKey("anonymous:key-3");
+    }
+
+    @Test
+    void abandonedClaimTurnsUnknownOnceItsLeaseLapses() {
+        Map<String, Object> request = Map.of("amount", "10.00");
+        ResponseEntity<?> claimed = idempotencyService.execute("key-4", "POST /api/transactions", request,
+            () -> ResponseEntity.ok(Map.of("message", "Transaction created successfully")));
+        assertEquals(200, claimed.getStatusCode().value());
+
+        // Another instance claimed key-5 and died without renewing its lease
+        IdempotencyRecord abandoned = idempotencyRecordRepository.findByScopeKey("anonymous:key-4").orElseThrow();
+        IdempotencyRecord record = new IdempotencyRecord("anonymous:key-5", abandoned.getRequestHash(),
+            LocalDateTime.now().plusDays(1));
+        record.setOwner("crashed-instance");
+        record.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        idempotencyRecordRepository.saveAndFlush(record);
+
+        AtomicInteger executions = new AtomicInteger();
+        ResponseEntity<?> retry = idempotencyService.execute("key-5", "POST /api/transactions", request, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(Map.of("message", "Transaction created successfully"));
+        });
+
+        assertEquals(500, retry.getStatusCode().value());
+        assertEquals(0, executions.get());
+        idempotencyRecordRepository.deleteByScopeKey("anonymous:key-4");
+        idempotencyRecordRepository.deleteByScopeKey("anonymous:key-5");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
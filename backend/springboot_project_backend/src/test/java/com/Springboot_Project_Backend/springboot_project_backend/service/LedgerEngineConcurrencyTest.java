@@ -0,0 +1,13 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+// Same scenarios routed through the sharded ledger engine; with three shards the transfer accounts land on different shards
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "ledger.engine.enabled=true",
+    "ledger.engine.shards=3"
+})
+class LedgerEngineConcurrencyTest extends TransactionServiceConcurrencyTest {
+}
@@ -0,0 +1,60 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.repository.NumberSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "numbers.block-size=10"
+})
+@Import(NumberAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NumberAllocatorTest {
+
+    @Autowired
+    private NumberAllocator numberAllocator;
+
+    @Autowired
+    private NumberSequenceRepository numberSequenceRepository;
+
+    @Test
+    void concurrentCallersGetDistinctNumbersFromReservedBlocks() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    assertTrue(numbers.add(numberAllocator.nextAccountNumber()));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(2000, numbers.size());
+        assertTrue(numbers.contains("ACC1000000000"));
+        assertTrue(numbers.contains("ACC1000001999"));
+        assertEquals(1_000_002_000L, numberSequenceRepository.findById("account_number").orElseThrow().getNextValue());
+        assertEquals("LOAN100000000", numberAllocator.nextLoanNumber());
+    }
+}
@@ -0,0 +1,98 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.util.BCryptCostCalibrator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void weakerHashIsUpgradedOnlyWhenThePasswordMatches() throws Exception {
+        service = start(new BCryptPasswordEncoder(6), 1, 8);
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        PasswordHashingService.Verification wrong = service.verify("guess", weakHash).get();
+        assertFalse(wrong.isMatched());
+        assertNull(wrong.getUpgradedHash());
+
+        PasswordHashingService.Verification matched = service.verify("secret", weakHash).get();
+        assertTrue(matched.isMatched());
+        assertNotNull(matched.getUpgradedHash());
+        assertTrue(matched.getUpgradedHash().startsWith("$2a$06$"));
+
+        // A hash at the current strength is left alone
+        assertNull(service.verify("secret", matched.getUpgradedHash()).get().getUpgradedHash());
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        service = start(blocking, 1, 2);
+
+        List<CompletableFuture<String>> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accepted.add(service.hash("secret"));
+        }
+        CompletableFuture<String> rejected = service.hash("secret");
+        ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, PasswordHashingService.causeOf(failure.getCause()));
+
+        release.countDown();
+        for (CompletableFuture<String> hash : accepted) {
+            assertTrue(hash.get().startsWith("$2a$04$"));
+        }
+    }
+
+    @Test
+    void calibrationStaysWithinTheAllowedCosts() {
+        assertEquals(4, BCryptCostCalibrator.calibrate(1, 4, 6));
+        assertEquals(6, BCryptCostCalibrator.calibrate(60_000, 4, 6));
+    }
+
+    private PasswordHashingService start(PasswordEncoder encoder, int workers, int queueCapacity) {
+        PasswordHashingService hashing = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashing, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(hashing, "workers", workers);
+        ReflectionTestUtils.setField(hashing, "queueCapacity", queueCapacity);
+        hashing.start();
+        return hashing;
+    }
+}
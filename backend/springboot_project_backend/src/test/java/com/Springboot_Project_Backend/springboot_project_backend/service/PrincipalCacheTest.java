@@ -0,0 +1,62 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(principalCache, "maxEntries", 100);
+    }
+
+    @Test
+    void principalIsLoadedOncePerRealmUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<UserDetails> loader = () -> {
+            loads.incrementAndGet();
+            return User.withUsername("user@example.com").password("hash").accountLocked(loads.get() > 1)
+                .authorities("ROLE_USER").build();
+        };
+
+        UserDetails first = principalCache.get(PrincipalCache.Realm.USER, "user@example.com", loader);
+        principalCache.get(PrincipalCache.Realm.USER, "user@example.com", loader);
+        assertEquals(1, loads.get());
+        assertEquals("", first.getPassword());
+
+        principalCache.get(PrincipalCache.Realm.ADMIN, "user@example.com", loader);
+        assertEquals(2, loads.get());
+
+        // A suspension invalidates the email; the next request sees the locked principal
+        principalCache.invalidate("user@example.com");
+        UserDetails reloaded = principalCache.get(PrincipalCache.Realm.USER, "user@example.com", loader);
+        assertEquals(3, loads.get());
+        assertFalse(reloaded.isAccountNonLocked());
+    }
+
+    @Test
+    void missingPrincipalsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<UserDetails> loader = () -> {
+            loads.incrementAndGet();
+            return null;
+        };
+        assertNull(principalCache.get(PrincipalCache.Realm.ADMIN, "nobody@example.com", loader));
+        assertNull(principalCache.get(PrincipalCache.Realm.ADMIN, "nobody@example.com", loader));
+        assertEquals(2, loads.get());
+    }
+}
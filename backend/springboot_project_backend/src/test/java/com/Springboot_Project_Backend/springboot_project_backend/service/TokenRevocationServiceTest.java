@@ -0,0 +1,99 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.JwtClaims;
+import com.Springboot_Project_Backend.springboot_project_backend.config.JwtUtil;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "jwt.secret=testSecretKey123456789012345678901234567890"
+})
+@Import({TokenRevocationService.class, JwtUtil.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void revokedTokenIsRejectedWhileOthersOfTheSameSubjectStayValid() {
+        long now = System.currentTimeMillis();
+        JwtClaims loggedOut = claims("logout-token", "user@example.com", now);
+        JwtClaims other = claims("other-token", "user@example.com", now);
+
+        tokenRevocationService.revokeToken(loggedOut);
+
+        assertTrue(tokenRevocationService.isRevoked(loggedOut, PrincipalCache.Realm.USER));
+        assertFalse(tokenRevocationService.isRevoked(other, PrincipalCache.Realm.USER));
+    }
+
+    @Test
+    void subjectRevocationCoversOnlyTokensIssuedBeforeIt() {
+        long now = System.currentTimeMillis();
+        JwtClaims before = claims("before-token", "suspended@example.com", now - HOUR);
+
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, "suspended@example.com");
+
+        assertTrue(tokenRevocationService.isRevoked(before, PrincipalCache.Realm.USER));
+        assertTrue(tokenRevocationService.isRevoked(claims("same-second", "suspended@example.com", now),
+            PrincipalCache.Realm.USER));
+        assertFalse(tokenRevocationService.isRevoked(claims("after-token", "suspended@example.com", now + 2_000),
+            PrincipalCache.Realm.USER));
+        assertFalse(tokenRevocationService.isRevoked(claims("before-token", "other@example.com", now - HOUR),
+            PrincipalCache.Realm.USER));
+    }
+
+    @Test
+    void revocationsSurviveARestart() {
+        long now = System.currentTimeMillis();
+        JwtClaims revoked = claims("persisted-token", "persisted@example.com", now);
+        tokenRevocationService.revokeToken(revoked);
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, "killed@example.com");
+
+        // A new instance has only the database to go on
+        TokenRevocationService restarted = new TokenRevocationService();
+        ReflectionTestUtils.setField(restarted, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(restarted, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(restarted, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(restarted, "jwtUtil", jwtUtil);
+        restarted.init();
+
+        assertTrue(restarted.isRevoked(revoked, PrincipalCache.Realm.USER));
+        assertTrue(restarted.isRevoked(claims("old-token", "killed@example.com", now - HOUR), PrincipalCache.Realm.USER));
+        assertFalse(restarted.isRevoked(claims("fresh-token", "persisted@example.com", now), PrincipalCache.Realm.USER));
+    }
+
+    @Test
+    void subjectRevocationIsScopedToItsRealm() {
+        long now = System.currentTimeMillis();
+        JwtClaims token = claims("shared-email-token", "shared@example.com", now - HOUR);
+
+        tokenRevocationService.revokeSubject(PrincipalCache.Realm.USER, "shared@example.com");
+
+        assertTrue(tokenRevocationService.isRevoked(token, PrincipalCache.Realm.USER));
+        assertFalse(tokenRevocationService.isRevoked(token, PrincipalCache.Realm.ADMIN));
+    }
+
+    private JwtClaims claims(String tokenHash, String subject, long issuedAt) {
+        return new JwtClaims(tokenHash, subject, 1L, issuedAt, issuedAt + 24 * HOUR);
+    }
+}
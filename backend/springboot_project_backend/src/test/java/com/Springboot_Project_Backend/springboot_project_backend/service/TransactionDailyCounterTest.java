@@ -0,0 +1,135 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "transactions.daily-count.slots=4"
+})
+@Import(TransactionDailyCounter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionDailyCounterTest {
+
+    @Autowired
+    private TransactionDailyCounter transactionDailyCounter;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countsFollowCommittedInsertsPerDayAndMatchTheRangeQuery() {
+        Account account = createAccount("DAY0000000001");
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionDailyCounter.recorded(transactionRepository.save(transactionAt(account, day.atTime(0, 0))));
+            transactionDailyCounter.recorded(transactionRepository.save(transactionAt(account, day.atTime(23, 59, 59))));
+            transactionDailyCounter.recorded(transactionRepository.save(transactionAt(account, day.plusDays(1).atStartOfDay())));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionDailyCounter.recorded(transactionRepository.save(transactionAt(account, day.atTime(12, 0))));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(2, transactionDailyCounter.countOn(day));
+        assertEquals(2, transactionRepository.countTransactionsOn(day));
+        assertEquals(1, transactionDailyCounter.countOn(day.plusDays(1)));
+        assertEquals(1, transactionRepository.countTransactionsOn(day.plusDays(1)));
+
+        Map<LocalDate, Long> counts = transactionDailyCounter.countsBetween(day.minusDays(1), day.plusDays(1));
+        assertEquals(List.of(day.minusDays(1), day, day.plusDays(1)), new ArrayList<>(counts.keySet()));
+        assertEquals(List.of(0L, 2L, 1L), new ArrayList<>(counts.values()));
+        assertThrows(IllegalArgumentException.class, () -> transactionDailyCounter.countsBetween(day, day.minusDays(1)));
+    }
+
+    @Test
+    void concurrentWritersLoseNoIncrements() throws Exception {
+        LocalDate day = LocalDate.of(2024, 4, 1);
+        Transaction transaction = transactionAt(null, day.atTime(9, 0));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(pool.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> transactionDailyCounter.recorded(List.of(transaction, transaction)))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(400, transactionDailyCounter.countOn(day));
+    }
+
+    @Test
+    void recountRepairsADayFromTheTransactionRows() {
+        Account account = createAccount("DAY0000000002");
+        LocalDate day = LocalDate.of(2024, 5, 20);
+        transactionRepository.save(transactionAt(account, day.atTime(10, 0)));
+        transactionRepository.save(transactionAt(account, day.atTime(11, 0)));
+        transactionDailyCounter.recorded(transactionAt(account, day.atTime(12, 0)));
+        assertEquals(1, transactionDailyCounter.countOn(day));
+
+        assertEquals(2, transactionDailyCounter.recount(day));
+        assertEquals(2, transactionDailyCounter.countOn(day));
+
+        transactionDailyCounter.removed(transactionRepository.countPerDayByUserId(account.getUser().getId()));
+        assertEquals(0, transactionDailyCounter.countOn(day));
+    }
+
+    private Account createAccount(String accountNumber) {
+        User user = userRepository.save(new User("Test", "User", accountNumber + "@example.com", "secret", "9876543210"));
+        Account account = new Account(accountNumber, Account.AccountType.SAVINGS, user);
+        account.setBalance(BigDecimal.ZERO);
+        return accountRepository.save(account);
+    }
+
+    private Transaction transactionAt(Account account, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(Transaction.TransactionType.DEPOSIT);
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setDescription("deposit");
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
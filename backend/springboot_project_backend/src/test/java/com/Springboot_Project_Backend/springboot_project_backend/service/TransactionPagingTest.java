@@ -0,0 +1,114 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.CacheConfig;
+import com.Springboot_Project_Backend.springboot_project_backend.dto.TransactionPage;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({TransactionService.class, LedgerPostingService.class, LedgerEngine.class, GroupCommitStage.class,
+    BalanceSlotService.class, BalanceCache.class, AccountDirectory.class, DashboardStatsService.class,
+    TransactionDailyCounter.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionPagingTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void userPagesMergeAccountsAndBreakTimestampTiesById() {
+        User user = userRepository.save(new User("Paging", "User", "paging@example.com", "secret", "9876543210"));
+        Account first = createAccount("PGE0000000001", user);
+        Account second = createAccount("PGE0000000002", user);
+        List<Transaction> expected = new ArrayList<>();
+        // Three rows share one timestamp across both accounts, so only the id orders them
+        expected.add(save(first, NOON));
+        expected.add(save(second, NOON));
+        expected.add(save(first, NOON));
+        expected.add(save(second, NOON.minusMinutes(1)));
+        expected.add(save(first, NOON.plusMinutes(1)));
+        expected.sort(Comparator.comparing(Transaction::getTransactionDate)
+            .thenComparing(Transaction::getId).reversed());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        TransactionPage page;
+        do {
+            page = transactionService.getTransactionPageByUserId(user.getId(), cursor, 2);
+            page.getTransactions().forEach(transaction -> seen.add(transaction.getId()));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasMore(), cursor != null);
+        } while (page.isHasMore());
+
+        assertEquals(expected.stream().map(Transaction::getId).toList(), seen);
+        // 5 rows in pages of 2: the last page holds the single remaining row
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void lastFullPageOfAnAccountReportsNoMore() {
+        User user = userRepository.save(new User("Paging", "Account", "paging-account@example.com", "secret", "9876543211"));
+        Account account = createAccount("PGE0000000003", user);
+        Transaction older = save(account, NOON);
+        Transaction newer = save(account, NOON);
+
+        TransactionPage page = transactionService.getTransactionPageByAccountId(account.getId(), null, 1);
+        assertEquals(newer.getId(), page.getTransactions().get(0).getId());
+        assertTrue(page.isHasMore());
+
+        page = transactionService.getTransactionPageByAccountId(account.getId(), page.getNextCursor(), 1);
+        assertEquals(older.getId(), page.getTransactions().get(0).getId());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    private Account createAccount(String accountNumber, User user) {
+        return accountRepository.save(new Account(accountNumber, Account.AccountType.SAVINGS, user));
+    }
+
+    private Transaction save(Account account, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(Transaction.TransactionType.DEPOSIT);
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setDescription("deposit");
+        transaction.setTransactionDate(date);
+        return transactionRepository.save(transaction);
+    }
+}
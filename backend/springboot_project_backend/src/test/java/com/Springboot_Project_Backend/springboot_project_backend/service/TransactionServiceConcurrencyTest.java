@@ -0,0 +1,250 @@
+package com.Springboot_Project_Backend.springboot_project_backend.service;
+
+import com.Springboot_Project_Backend.springboot_project_backend.config.CacheConfig;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Account;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.Transaction;
+import com.Springboot_Project_Backend.springboot_project_backend.entity.User;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountBalanceSlotRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.AccountRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.TransactionRepository;
+import com.Springboot_Project_Backend.springboot_project_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({TransactionService.class, LedgerPostingService.class, LedgerEngine.class, GroupCommitStage.class,
+    BalanceSlotService.class, BalanceCache.class, AccountDirectory.class, DashboardStatsService.class,
+    TransactionDailyCounter.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private LedgerPostingService ledgerPostingService;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentWithdrawalsNeverOverdrawOrLoseUpdates() throws Exception {
+        Account account = createAccount("ACC0000000001", "500.00");
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(1000, i -> {
+            try {
+                transactionService.createTransaction(account.getId(), "WITHDRAWAL", BigDecimal.ONE, "withdrawal " + i);
+                succeeded.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertEquals("Insufficient funds", e.getMessage());
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(500, succeeded.get());
+        assertEquals(500, rejected.get());
+        assertEquals(0, new BigDecimal("0.00").compareTo(balanceOf(account)));
+        assertEquals(500, transactionRepository.findByAccountId(account.getId()).size());
+    }
+
+    @Test
+    void opposingTransfersConserveMoneyWithoutDeadlock() throws Exception {
+        Account first = createAccount("ACC0000000002", "1000.00");
+        Account second = createAccount("ACC0000000003", "1000.00");
+
+        runConcurrently(800, i -> {
+            if (i % 2 == 0) {
+                transactionService.transferFunds(first.getId(), second.getAccountNumber(), BigDecimal.ONE, "a->b");
+            } else {
+                transactionService.transferFunds(second.getId(), first.getAccountNumber(), new BigDecimal("2"), "b->a");
+            }
+        });
+
+        assertEquals(0, new BigDecimal("1400.00").compareTo(balanceOf(first)));
+        assertEquals(0, new BigDecimal("600.00").compareTo(balanceOf(second)));
+    }
+
+    @Test
+    void splitAccountKeepsExactBalanceUnderConcurrentCreditsAndDebits() throws Exception {
+        Account account = createAccount("ACC0000000004", "100.00");
+        balanceSlotService.enableSplitting(account.getId(), 8);
+        AtomicInteger withdrawn = new AtomicInteger();
+
+        runConcurrently(1000, i -> {
+            if (i % 2 == 0) {
+                transactionService.createTransaction(account.getId(), "DEPOSIT", BigDecimal.ONE, "credit " + i);
+            } else {
+                try {
+                    transactionService.createTransaction(account.getId(), "WITHDRAWAL", BigDecimal.ONE, "debit " + i);
+                    withdrawn.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals("Insufficient funds", e.getMessage());
+                }
+            }
+        });
+
+        BigDecimal expected = new BigDecimal(100 + 500 - withdrawn.get());
+        assertEquals(0, expected.compareTo(balanceOf(account)));
+        // The API reads the row plus its slots
+        assertEquals(0, expected.compareTo(cachedBalanceOf(account)));
+        balanceSlotService.consolidate();
+        assertEquals(0, expected.compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void debitFoldsSlotsOfAccountSplitOnAnotherNode() {
+        Account account = createAccount("ACC0000000009", "100.00");
+        balanceSlotService.enableSplitting(account.getId(), 4);
+        transactionService.createTransaction(account.getId(), "DEPOSIT", new BigDecimal("50.00"), "into a slot");
+        // This node has not refreshed its split map yet
+        ((Map<?, ?>) ReflectionTestUtils.getField(balanceSlotService, "splitAccounts")).clear();
+
+        transactionService.createTransaction(account.getId(), "WITHDRAWAL", new BigDecimal("120.00"), "needs the slots");
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void rejectedTransferIntoSplitAccountLeavesItsRowAndSlotsAlone() {
+        // Destination first so it has the lower id and is credited before the source is debited
+        Account to = createAccount("ACC0000000010", "0.00");
+        Account from = createAccount("ACC0000000011", "10.00");
+        balanceSlotService.enableSplitting(to.getId(), 4);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+            transactionService.transferFunds(from.getId(), to.getAccountNumber(), new BigDecimal("25.00"), "too much"));
+
+        assertEquals("Insufficient funds", e.getMessage());
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountRepository.findById(to.getId()).orElseThrow().getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(slotRepository.sumByAccountId(to.getId())));
+        assertEquals(0, new BigDecimal("10.00").compareTo(balanceOf(from)));
+    }
+
+    @Test
+    void cachedBalanceIsEvictedByEveryPosting() {
+        Account from = createAccount("ACC0000000005", "300.00");
+        Account to = createAccount("ACC0000000006", "0.00");
+        assertEquals(0, new BigDecimal("300.00").compareTo(cachedBalanceOf(from)));
+        assertEquals(0, new BigDecimal("0.00").compareTo(cachedBalanceOf(to)));
+
+        transactionService.createTransaction(from.getId(), "WITHDRAWAL", new BigDecimal("50.00"), "withdrawal");
+        assertEquals(0, new BigDecimal("250.00").compareTo(cachedBalanceOf(from)));
+
+        transactionService.transferFunds(from.getId(), to.getAccountNumber(), new BigDecimal("100.00"), "transfer");
+        assertEquals(0, new BigDecimal("150.00").compareTo(cachedBalanceOf(from)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(cachedBalanceOf(to)));
+    }
+
+    @Test
+    void pendingTransferToClosedAccountIsRefunded() throws Exception {
+        Account from = createAccount("ACC0000000007", "200.00");
+        Account to = createAccount("ACC0000000008", "0.00");
+        Transaction debit = transactionTemplate.execute(status -> ledgerPostingService.transferOut(
+            from.getId(), to.getId(), to.getAccountNumber(), new BigDecimal("80.00"), "closed"));
+        accountRepository.deleteById(to.getId());
+
+        ledgerEngine.settleUnfinishedTransfers();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (statusOf(debit) == Transaction.TransactionStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Transaction.TransactionStatus.FAILED, statusOf(debit));
+        assertEquals(0, new BigDecimal("200.00").compareTo(balanceOf(from)));
+    }
+
+    private interface Task {
+        void run(int i);
+    }
+
+    private void runConcurrently(int operations, Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < operations; i++) {
+            final int n = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run(n);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    private Account createAccount(String accountNumber, String balance) {
+        User user = new User("Test", "User", accountNumber + "@example.com", "secret", "9876543210");
+        userRepository.save(user);
+        Account account = new Account(accountNumber, Account.AccountType.SAVINGS, user);
+        account.setBalance(new BigDecimal(balance));
+        return accountRepository.save(account);
+    }
+
+    private BigDecimal cachedBalanceOf(Account account) {
+        return balanceCache.getAccount(account.getId()).orElseThrow().getBalance();
+    }
+
+    private Transaction.TransactionStatus statusOf(Transaction transaction) {
+        return transactionRepository.findById(transaction.getId()).orElseThrow().getStatus();
+    }
+
+    // Visible balance: the account row plus its slots
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance()
+            .add(slotRepository.sumByAccountId(account.getId()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongKeyMapTest {
+
+    @Test
+    void behavesLikeHashMapUnderRandomPutsAndRemoves() {
+        LongKeyMap<String> map = new LongKeyMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range forces long probe chains and many backward shifts
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void removeIfDropsOnlyMatchingValues() {
+        LongKeyMap<Long> map = new LongKeyMap<>();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key % 10);
+        }
+        assertEquals(100, map.removeIf(owner -> owner == 3L));
+        assertEquals(900, map.size());
+        for (long key = 1; key <= 1_000; key++) {
+            if (key % 10 == 3) {
+                assertNull(map.get(key));
+            } else {
+                assertEquals(key % 10, map.get(key));
+            }
+        }
+    }
+
+    @Test
+    void rejectsTheReservedKey() {
+        LongKeyMap<String> map = new LongKeyMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "x"));
+    }
+}
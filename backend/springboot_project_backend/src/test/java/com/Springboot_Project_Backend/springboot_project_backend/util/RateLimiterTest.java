@@ -0,0 +1,77 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+    private final RateLimiter rateLimiter = new RateLimiter(1000, clock::get);
+
+    @Test
+    void burstUpToCapacityThenOneTokenPerInterval() {
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("3/30");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("ip|1.2.3.4", limit));
+        }
+        long wait = rateLimiter.tryAcquire("ip|1.2.3.4", limit);
+        assertEquals(10 * SECOND, wait);
+        // Other keys have their own bucket
+        assertEquals(0, rateLimiter.tryAcquire("ip|5.6.7.8", limit));
+
+        clock.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire("ip|1.2.3.4", limit));
+        assertTrue(rateLimiter.tryAcquire("ip|1.2.3.4", limit) > 0);
+    }
+
+    @Test
+    void refilledBucketsAreEvictedWithoutChangingLimits() {
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("2/10");
+        rateLimiter.tryAcquire("email|a@example.com", limit);
+        rateLimiter.tryAcquire("email|b@example.com", limit);
+        rateLimiter.tryAcquire("email|b@example.com", limit);
+
+        clock.addAndGet(6 * SECOND);
+        rateLimiter.evictIdle();
+        // a refilled after 5s; b still owes a token until 10s
+        assertEquals(1, rateLimiter.size());
+        assertEquals(0, rateLimiter.tryAcquire("email|b@example.com", limit));
+        assertTrue(rateLimiter.tryAcquire("email|b@example.com", limit) > 0);
+    }
+
+    @Test
+    void newKeysBeyondCapacityShareOneOverflowBucket() {
+        // One tracked key per stripe
+        RateLimiter small = new RateLimiter(16, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("2/10");
+        int allowed = 0;
+        for (int i = 0; i < 500; i++) {
+            if (small.tryAcquire("ip|10.0.0." + i, limit) == 0) {
+                allowed++;
+            }
+        }
+        assertTrue(small.size() <= 16);
+        // At most one token per tracked key plus the overflow bucket's two
+        assertTrue(allowed <= 16 + 2, "allowed " + allowed);
+
+        clock.addAndGet(10 * SECOND);
+        small.evictIdle();
+        assertEquals(0, small.size());
+        assertEquals(0, small.tryAcquire("ip|10.0.0.499", limit));
+    }
+
+    @Test
+    void disabledAndMalformedLimits() {
+        assertNull(RateLimiter.Limit.parse("0"));
+        assertNull(RateLimiter.Limit.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Limit.parse("10 per minute"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.Springboot_Project_Backend.springboot_project_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Throughput of the snowflake generator against the previous UUID.randomUUID() path.
+// Not part of the normal build (the class name does not match the surefire includes); run with
+//   mvn test -Dtest=TransactionIdGeneratorBenchmark [-Dbenchmark.threads=N]
+class TransactionIdGeneratorBenchmark {
+
+    private static final int IDS_PER_THREAD = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    // Keeps the generated ids observable so the JIT cannot drop the loop
+    private static volatile int blackhole;
+
+    @Test
+    void compareUuidWithSnowflake() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+        for (int round = 1; round <= ROUNDS; round++) {
+            // The first rounds warm up the JIT; the last one is the figure to compare
+            System.out.printf("round %d: uuid %,d ids/s, snowflake %,d ids/s (%d threads)%n", round,
+                measure(new UuidIdGenerator(), threads), measure(new SnowflakeIdGenerator(1), threads), threads);
+        }
+    }
+
+    private static long measure(TransactionIdGenerator generator, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                int hash = 0;
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    hash += generator.nextId().hashCode();
+                }
+                return hash;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        int sink = 0;
+        for (Future<Integer> future : futures) {
+            sink += future.get();
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+        blackhole = sink;
+        return (long) IDS_PER_THREAD * threads * 1_000_000_000L / elapsed;
+    }
+}
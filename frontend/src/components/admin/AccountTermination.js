@@ -11,11 +11,12 @@ const AccountTermination = () => {
   const [showConfirmModal, setShowConfirmModal] = useState(false);
   const [selectedUser, setSelectedUser] = useState(null);
   const [terminationReason, setTerminationReason] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
   const navigate = useNavigate();
 
-  const fetchUsers = useCallback(async () => {
+  const fetchUsers = useCallback(async (cursor = null) => {
     try {
-      const response = await getAllUsers();
+      const response = await getAllUsers(cursor ? { cursor } : {});
       let data = [];
       if (Array.isArray(response)) {
         data = response;
@@ -24,7 +25,8 @@ const AccountTermination = () => {
       } else if (response && Array.isArray(response.users)) {
         data = response.users;
       }
-      setUsers(data);
+      setUsers(previous => (cursor ? [...previous, ...data] : data));
+      setNextCursor(response && response.hasMore ? response.nextCursor : null);
     } catch (error) {
       console.error('Error fetching users:', error);
       if (error.response && (error.response.status === 401 || error.response.status === 403)) {
@@ -129,6 +131,7 @@ const AccountTermination = () => {
               <p className="user-phone">{user.phoneNumber}</p>
               <p className="user-status">Status: <span className={`status-${user.status?.toLowerCase()}`}>{user.status}</span></p>
               <p className="user-joined">Joined: {new Date(user.createdAt).toLocaleDateString()}</p>
+              <p className="user-holdings">Accounts: {user.accountCount} · Loans: {user.loanCount}</p>
             </div>
 
             <div className="termination-section">
@@ -144,6 +147,14 @@ const AccountTermination = () => {
         ))}
       </div>
 
+      {nextCursor && (
+        <div className="load-more">
+          <button onClick={() => fetchUsers(nextCursor)} className="load-more-btn">
+            Load more
+          </button>
+        </div>
+      )}
+
       {filteredUsers.length === 0 && (
         <div className="no-users">
           {searchTerm ? 'No users found matching your search.' : 'No active users available for termination.'}
@@ -2,7 +2,7 @@ import React, { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import './AdminDashboard.css';
 import '../../styles/global.css';
-import { getAdminDashboardStats } from '../../services/adminService';
+import { getAdminDashboardStats, subscribeToDashboardStats } from '../../services/adminService';
 import { logoutAdmin } from '../../services/authService';
 
 const AdminDashboard = () => {
@@ -50,7 +50,17 @@ const AdminDashboard = () => {
       fetchDashboardStats();
     } catch (error) {
       navigate('/admin/login');
+      return;
     }
+
+    // Live updates replace polling: the server pushes only the figures that changed
+    const unsubscribe = subscribeToDashboardStats(setStats, (error) => {
+      if (error.response?.status === 401 || error.response?.status === 403) {
+        logoutAdmin();
+        navigate('/admin/login');
+      }
+    });
+    return unsubscribe;
   }, [navigate, fetchDashboardStats]);
 
   const handleLogout = () => {
@@ -11,23 +11,43 @@ const LoanApproval = () => {
   const [rejectReason, setRejectReason] = useState('');
   const [showRejectModal, setShowRejectModal] = useState(false);
   const [selectedLoanId, setSelectedLoanId] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
-  const fetchLoans = useCallback(async () => {
+  // The status filter runs on the server, one page at a time
+  const fetchLoans = useCallback(async (cursor = null) => {
     try {
-      const response = await getAllLoans();
-      const data = Array.isArray(response) ? response : (response?.data || []);
-      setLoans(data);
+      const params = {};
+      if (filterStatus !== 'ALL') {
+        params.status = filterStatus;
+      }
+      if (cursor) {
+        params.cursor = cursor;
+      }
+      const response = await getAllLoans(params);
+      const data = Array.isArray(response) ? response : (response?.items || []);
+      setLoans(previous => (cursor ? [...previous, ...data] : data));
+      setNextCursor(response && response.hasMore ? response.nextCursor : null);
     } catch (error) {
       console.error('Error fetching loans:', error);
+      if (!cursor) {
+        setLoans([]);
+      }
       if (error.response?.status === 401 || error.response?.status === 403) {
         logoutAdmin();
         navigate('/admin/login');
       }
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
-  }, [navigate]);
+  }, [navigate, filterStatus]);
+
+  const loadMore = () => {
+    setLoadingMore(true);
+    fetchLoans(nextCursor);
+  };
 
   useEffect(() => {
     const token = localStorage.getItem('adminToken');
@@ -77,6 +97,7 @@ const LoanApproval = () => {
     setShowRejectModal(true);
   };
 
+  // Loans approved or rejected on this page drop out of a status filter they no longer match
   const filteredLoans = loans.filter(loan => 
     filterStatus === 'ALL' || loan.status === filterStatus
   );
@@ -137,11 +158,11 @@ const LoanApproval = () => {
             <div className="loan-details">
               <div className="detail-row">
                 <span className="label">Applicant:</span>
-                <span className="value">{loan.user?.firstName} {loan.user?.lastName}</span>
+                <span className="value">{loan.ownerName}</span>
               </div>
               <div className="detail-row">
                 <span className="label">Email:</span>
-                <span className="value">{loan.user?.email}</span>
+                <span className="value">{loan.ownerEmail}</span>
               </div>
               <div className="detail-row">
                 <span className="label">Loan Type:</span>
@@ -149,11 +170,11 @@ const LoanApproval = () => {
               </div>
               <div className="detail-row">
                 <span className="label">Amount:</span>
-                <span className="value">{formatCurrency(loan.amount)}</span>
+                <span className="value">{formatCurrency(loan.principalAmount)}</span>
               </div>
               <div className="detail-row">
-                <span className="label">Purpose:</span>
-                <span className="value">{loan.purpose}</span>
+                <span className="label">Term:</span>
+                <span className="value">{loan.termMonths} months at {loan.interestRate}%</span>
               </div>
               <div className="detail-row">
                 <span className="label">Applied Date:</span>
@@ -187,6 +208,14 @@ const LoanApproval = () => {
         </div>
       )}
 
+      {nextCursor && (
+        <div className="load-more">
+          <button onClick={loadMore} disabled={loadingMore} className="load-more-btn">
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
+
       {showRejectModal && (
         <div className="modal-overlay">
           <div className="modal">
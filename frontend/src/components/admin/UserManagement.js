@@ -9,12 +9,22 @@ const UserManagement = () => {
   const [loading, setLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterStatus, setFilterStatus] = useState('ALL');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
-  const fetchUsers = useCallback(async () => {
+  // The status filter runs on the server; the search box only narrows the pages loaded so far
+  const fetchUsers = useCallback(async (cursor = null) => {
     try {
       console.log('UserManagement: Fetching users...');
-      const response = await getAllUsers();
+      const params = {};
+      if (filterStatus !== 'ALL') {
+        params.status = filterStatus;
+      }
+      if (cursor) {
+        params.cursor = cursor;
+      }
+      const response = await getAllUsers(params);
       console.log('UserManagement: Raw response:', response);
       
       let data = [];
@@ -27,18 +37,27 @@ const UserManagement = () => {
       }
       
       console.log('UserManagement: Processed users data:', data);
-      setUsers(data);
+      setUsers(previous => (cursor ? [...previous, ...data] : data));
+      setNextCursor(response && response.hasMore ? response.nextCursor : null);
     } catch (error) {
       console.error('UserManagement: Error fetching users:', error);
-      setUsers([]);
+      if (!cursor) {
+        setUsers([]);
+      }
       if (error.response?.status === 401 || error.response?.status === 403) {
         logoutAdmin();
         navigate('/admin/login');
       }
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
-  }, [navigate]);
+  }, [navigate, filterStatus]);
+
+  const loadMore = () => {
+    setLoadingMore(true);
+    fetchUsers(nextCursor);
+  };
 
   useEffect(() => {
     const token = localStorage.getItem('adminToken');
@@ -90,6 +109,7 @@ const UserManagement = () => {
                          user.lastName.toLowerCase().includes(searchTerm.toLowerCase()) ||
                          user.email.toLowerCase().includes(searchTerm.toLowerCase());
     
+    // Also drops rows whose status was changed here since they were loaded
     const matchesFilter = filterStatus === 'ALL' || user.status === filterStatus;
     
     return matchesSearch && matchesFilter;
@@ -149,6 +169,8 @@ const UserManagement = () => {
               <th>Email</th>
               <th>Phone</th>
               <th>Status</th>
+              <th>Accounts</th>
+              <th>Loans</th>
               <th>Created At</th>
               <th>Actions</th>
             </tr>
@@ -165,6 +187,8 @@ const UserManagement = () => {
                     {user.status}
                   </span>
                 </td>
+                <td>{user.accountCount}</td>
+                <td>{user.loanCount}</td>
                 <td>{new Date(user.createdAt).toLocaleDateString()}</td>
                 <td>
                   <div className="action-buttons">
@@ -201,10 +225,18 @@ const UserManagement = () => {
             No users found matching your criteria.
           </div>
         )}
+
+        {nextCursor && (
+          <div className="load-more">
+            <button onClick={loadMore} disabled={loadingMore} className="load-more-btn">
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
 
       <div className="users-summary">
-        <p>Total Users: {users.length}</p>
+        <p>Loaded Users: {users.length}{nextCursor ? '+' : ''}</p>
         <p>Active: {users.filter(u => u.status === 'ACTIVE').length}</p>
         <p>Suspended: {users.filter(u => u.status === 'SUSPENDED').length}</p>
         <p>Inactive: {users.filter(u => u.status === 'INACTIVE').length}</p>
@@ -22,11 +22,78 @@ export const getAdminDashboardStats = async () => {
   }
 };
 
+// Dashboard figures pushed over Server-Sent Events. fetch is used rather than EventSource so the admin token
+// goes in the Authorization header. onStats gets the full figures first, then again after every delta is
+// merged in. Reconnects after a drop or timeout; returns a function that closes the stream.
+export const subscribeToDashboardStats = (onStats, onError) => {
+  const controller = new AbortController();
+  let stats = null;
+
+  const connect = async () => {
+    try {
+      const response = await fetch(`${api.defaults.baseURL}/admin/dashboard/stream`, {
+        headers: {
+          Authorization: `Bearer ${localStorage.getItem('adminToken')}`,
+          Accept: 'text/event-stream',
+        },
+        signal: controller.signal,
+      });
+      if (!response.ok) {
+        const error = new Error(`Dashboard stream failed with status ${response.status}`);
+        error.response = { status: response.status };
+        throw error;
+      }
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { done, value } = await reader.read();
+        if (done) {
+          break;
+        }
+        buffer += decoder.decode(value, { stream: true });
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary + 2);
+          const data = block
+            .split('\n')
+            .filter(line => line.startsWith('data:'))
+            .map(line => line.slice('data:'.length))
+            .join('\n');
+          if (data) {
+            stats = { ...(stats || {}), ...JSON.parse(data) };
+            onStats(stats);
+          }
+        }
+      }
+    } catch (error) {
+      if (controller.signal.aborted) {
+        return;
+      }
+      console.error('adminService: Dashboard stream error:', error);
+      if (onError) {
+        onError(error);
+      }
+      if (error.response?.status === 401 || error.response?.status === 403) {
+        return;
+      }
+    }
+    if (!controller.signal.aborted) {
+      setTimeout(connect, 5000);
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
 // User Management
-export const getAllUsers = async () => {
+// params: status, city, state, createdFrom, createdTo, sort, direction, cursor, limit
+export const getAllUsers = async (params = {}) => {
   try {
     console.log('adminService: Making request to /admin/users');
-    const response = await api.get('/admin/users');
+    const response = await api.get('/admin/users', { params });
     console.log('adminService: Users response:', response);
     console.log('adminService: Users data:', response.data);
     return response.data;
@@ -88,9 +155,11 @@ export const activateUser = async (userId) => {
 };
 
 // Account Management
-export const getAllAccounts = async () => {
+// Returns { items, nextCursor, hasMore }; params: status, type, minAmount, maxAmount, from, to, ownerId,
+// ownerEmail, cursor, limit
+export const getAllAccounts = async (params = {}) => {
   try {
-    const response = await api.get('/admin/accounts');
+    const response = await api.get('/admin/accounts', { params });
     return response.data;
   } catch (error) {
     console.error('Error fetching accounts:', error);
@@ -139,9 +208,11 @@ export const unfreezeAccount = async (accountId) => {
 };
 
 // Transaction Management
-export const getAllTransactions = async () => {
+// Returns { items, nextCursor, hasMore }; params: status, type, minAmount, maxAmount, from, to, ownerId,
+// ownerEmail, cursor, limit
+export const getAllTransactions = async (params = {}) => {
   try {
-    const response = await api.get('/admin/transactions');
+    const response = await api.get('/admin/transactions', { params });
     return response.data;
   } catch (error) {
     console.error('Error fetching transactions:', error);
@@ -160,10 +231,11 @@ export const getTransactionById = async (transactionId) => {
 };
 
 // Loan Management
-export const getAllLoans = async () => {
+// Same parameters and page shape as getAllAccounts
+export const getAllLoans = async (params = {}) => {
   try {
     console.log('adminService: Making request to /admin/loans');
-    const response = await api.get('/admin/loans');
+    const response = await api.get('/admin/loans', { params });
     console.log('adminService: Loans response:', response);
     console.log('adminService: Loans data:', response.data);
     return response.data;
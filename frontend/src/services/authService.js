@@ -20,12 +20,21 @@ export const loginAdmin = async (data) => {
   }
 };
 
+// Revokes the token on the server; signing out locally does not wait for it
+const revokeToken = (token) => {
+  if (token) {
+    api.post("/auth/logout", null, { headers: { Authorization: `Bearer ${token}` } }).catch(() => {});
+  }
+};
+
 export const logoutAdmin = () => {
+  revokeToken(localStorage.getItem('adminToken'));
   localStorage.removeItem('adminToken');
   localStorage.removeItem('adminInfo');
 };
 
 export const logoutUser = () => {
+  revokeToken(localStorage.getItem('token'));
   localStorage.removeItem('token');
   localStorage.removeItem('user');
 };
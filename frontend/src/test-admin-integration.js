@@ -28,7 +28,7 @@ const testAdminIntegration = async () => {
       name: 'Users List',
       test: async () => {
         const users = await getAllUsers();
-        console.log('Users Count:', Array.isArray(users) ? users.length : 'Not an array');
+        console.log('Users Count (first page):', Array.isArray(users?.users) ? users.users.length : 'Not an array');
         return users;
       }
     },
@@ -36,7 +36,7 @@ const testAdminIntegration = async () => {
       name: 'Loans List',
       test: async () => {
         const loans = await getAllLoans();
-        console.log('Loans Count:', Array.isArray(loans) ? loans.length : 'Not an array');
+        console.log('Loans Count:', Array.isArray(loans?.items) ? loans.items.length : 'Not an array');
         return loans;
       }
     },
@@ -44,7 +44,7 @@ const testAdminIntegration = async () => {
       name: 'Accounts List',
       test: async () => {
         const accounts = await getAllAccounts();
-        console.log('Accounts Count:', Array.isArray(accounts) ? accounts.length : 'Not an array');
+        console.log('Accounts Count:', Array.isArray(accounts?.items) ? accounts.items.length : 'Not an array');
         return accounts;
       }
     },
@@ -52,7 +52,7 @@ const testAdminIntegration = async () => {
       name: 'Transactions List',
       test: async () => {
         const transactions = await getAllTransactions();
-        console.log('Transactions Count:', Array.isArray(transactions) ? transactions.length : 'Not an array');
+        console.log('Transactions Count:', Array.isArray(transactions?.items) ? transactions.items.length : 'Not an array');
         return transactions;
       }
     }